@@ -0,0 +1,201 @@
+package com.sedna.crawler;
+
+import com.sedna.crawler.graph.LinkGraph;
+import com.sedna.crawler.recrawl.Recrawl;
+import com.sedna.crawler.recrawl.RecrawlScheduler;
+import com.sedna.crawler.recrawl.RecrawlStore;
+import com.sedna.crawler.sink.JsonLinesPageSink;
+import com.sedna.crawler.sink.PageSink;
+import com.sedna.crawler.sink.WarcPageSink;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import static com.sedna.crawler.utils.UrlUtils.isValidUrl;
+
+// Non-interactive mode: crawls every seed in a file and streams results as newline-delimited JSON.
+//   --seeds <file>     one URL per line, '#' starts a comment
+//   --config <file>    optional properties file, see CrawlerConfig
+//   --output <file|->  results destination, stdout by default
+public class BatchCrawl {
+    private final List<String> seeds;
+    private final CrawlerConfig config;
+    private final Path output;
+    private final CancellationToken cancellation = new CancellationToken();
+
+    public BatchCrawl(List<String> seeds, CrawlerConfig config, Path output) {
+        this.seeds = List.copyOf(seeds);
+        this.config = config;
+        this.output = output;
+    }
+
+    public static BatchCrawl fromArgs(String[] args) throws IOException {
+        Path seedFile = null;
+        Path configFile = null;
+        Path output = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--seeds" -> seedFile = Path.of(requireValue(args[i], value));
+                case "--config" -> configFile = Path.of(requireValue(args[i], value));
+                case "--output" -> {
+                    String target = requireValue(args[i], value);
+                    output = target.equals("-") ? null : Path.of(target);
+                }
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+            i++;
+        }
+
+        if (seedFile == null) {
+            throw new IllegalArgumentException("Missing required option --seeds");
+        }
+
+        // Progress lines would corrupt the JSON stream, so batch runs are quiet unless configured
+        Properties properties = new Properties();
+        properties.setProperty("verbose", "false");
+        if (configFile != null) {
+            try (Reader reader = Files.newBufferedReader(configFile, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        }
+        return new BatchCrawl(readSeeds(seedFile), CrawlerConfig.fromProperties(properties), output);
+    }
+
+    // Ends the running seed's crawl and skips the rest; run() still writes results and stats
+    public void cancel() {
+        cancellation.cancel();
+    }
+
+    private static String requireValue(String option, String value) {
+        if (value == null || value.startsWith("--")) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return value;
+    }
+
+    static List<String> readSeeds(Path seedFile) throws IOException {
+        List<String> seeds = new ArrayList<>();
+        for (String line : Files.readAllLines(seedFile, StandardCharsets.UTF_8)) {
+            int comment = line.indexOf('#');
+            String seed = (comment >= 0 ? line.substring(0, comment) : line).trim();
+            if (!seed.isEmpty()) {
+                seeds.add(seed);
+            }
+        }
+        return seeds;
+    }
+
+    // Returns the number of seeds that could not be crawled
+    public int run() throws IOException {
+        CrawlStats stats = new CrawlStats();
+        int failedSeeds = 0;
+
+        RecrawlStore recrawlStore = openRecrawlStore();
+        Map<String, List<String>> duplicateClusters = new TreeMap<>();
+        // One graph across all seeds, so links between seed sites are kept
+        LinkGraph linkGraph = config.isCaptureLinkGraph() ? new LinkGraph() : null;
+
+        OutputStream out = output != null ? Files.newOutputStream(output) : System.out;
+        // Keep stdout pure JSON lines when results go there
+        PrintStream summaryOut = output != null ? System.out : System.err;
+
+        try (JsonLinesPageSink results = new JsonLinesPageSink(out, output != null);
+             PageSink archive = openArchive()) {
+            PageSink sink = results.andThen(stats).andThen(archive);
+
+            for (String seed : seeds) {
+                if (cancellation.isCancelled()) {
+                    break;
+                }
+                if (!isValidUrl(seed)) {
+                    System.err.println("Skipping invalid seed: " + seed);
+                    failedSeeds++;
+                    continue;
+                }
+                if (recrawlStore != null) {
+                    RecrawlScheduler scheduler = new RecrawlScheduler(config.getRecrawlPriorChangesPerDay(),
+                            config.getRecrawlMinChangeProbability());
+                    Recrawl recrawl = new Recrawl(config, recrawlStore, scheduler, sink, Clock.systemUTC(),
+                            linkGraph);
+                    recrawl.run(seed, config.deadlineFrom(Instant.now()), cancellation);
+                    duplicateClusters.putAll(recrawl.getDuplicateClusters());
+                } else {
+                    try (WebCrawler crawler = new WebCrawler(config, sink, linkGraph)) {
+                        CrawlResult result = crawler.crawl(List.of(seed), url -> true,
+                                config.deadlineFrom(Instant.now()), cancellation);
+                        if (result.isPartial()) {
+                            System.err.println("Stopped " + seed + " early (" + result.status() + ") after "
+                                    + result.pagesCrawled() + " pages, " + result.unvisitedUrls() + " URLs unvisited");
+                        }
+                        duplicateClusters.putAll(crawler.getDuplicateClusters());
+                    }
+                }
+            }
+        } finally {
+            stats.stop();
+        }
+
+        duplicateClusters.values().forEach(duplicates -> stats.addDuplicatePages(duplicates.size()));
+        summaryOut.println(stats.toJson());
+        if (linkGraph != null) {
+            summaryOut.printf(Locale.ROOT, "{\"graphNodes\":%d,\"graphEdges\":%d,\"bytesPerMillionEdges\":%.0f,"
+                            + "\"adjacencyBytesPerMillionEdges\":%.0f,\"urlTableBytes\":%d}%n",
+                    linkGraph.nodeCount(), linkGraph.edgeCount(), linkGraph.bytesPerMillionEdges(),
+                    linkGraph.adjacencyBytesPerMillionEdges(), linkGraph.urlTableBytes());
+        }
+        if (config.getStateDir() != null) {
+            Files.createDirectories(config.getStateDir());
+            Files.writeString(config.getStateDir().resolve("stats.json"), stats.toJson() + "\n");
+            writeDuplicateClusters(config.getStateDir().resolve("duplicates.tsv"), duplicateClusters);
+            if (linkGraph != null) {
+                Path graphDir = Files.createDirectories(config.getStateDir().resolve("graph"));
+                linkGraph.writeEdgeList(graphDir.resolve("nodes.tsv"), graphDir.resolve("edges.tsv"));
+                linkGraph.writeCsr(graphDir.resolve("graph.csr"));
+            }
+        }
+        return failedSeeds;
+    }
+
+    // One line per duplicate: original URL, then the URL that served the same content
+    private static void writeDuplicateClusters(Path file, Map<String, List<String>> clusters) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        clusters.forEach((original, duplicates) -> duplicates.forEach(duplicate ->
+                lines.append(original).append('\t').append(duplicate).append('\n')));
+        Files.writeString(file, lines);
+    }
+
+    private RecrawlStore openRecrawlStore() throws IOException {
+        if (!config.isRecrawl()) {
+            return null;
+        }
+        if (config.getStateDir() == null) {
+            throw new IllegalArgumentException("recrawl=true requires stateDir");
+        }
+        return new RecrawlStore(config.getStateDir().resolve("recrawl-history.tsv"));
+    }
+
+    private PageSink openArchive() throws IOException {
+        if (!config.isArchive()) {
+            return PageSink.NONE;
+        }
+        if (config.getStateDir() == null) {
+            throw new IllegalArgumentException("archive=true requires stateDir");
+        }
+        return new WarcPageSink(config.getStateDir().resolve("archive"));
+    }
+}
@@ -0,0 +1,53 @@
+package com.sedna.crawler;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Lets another thread stop a running crawl. Cancelling is permanent; one token may be shared by
+// several crawls to stop them together.
+public final class CancellationToken {
+    private final CompletableFuture<Void> cancelled = new CompletableFuture<>();
+    private final Set<Registration> registrations = ConcurrentHashMap.newKeySet();
+
+    // An action waiting for cancel(). Remove it once the crawl it stops is over, so a long-lived
+    // token does not keep finished crawlers reachable.
+    public final class Registration {
+        private final Runnable action;
+
+        private Registration(Runnable action) {
+            this.action = action;
+        }
+
+        public void remove() {
+            registrations.remove(this);
+        }
+
+        // Whoever removes the registration runs the action, so it runs at most once
+        private void runIfRegistered() {
+            if (registrations.remove(this)) {
+                action.run();
+            }
+        }
+    }
+
+    public void cancel() {
+        if (cancelled.complete(null)) {
+            registrations.forEach(Registration::runIfRegistered);
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled.isDone();
+    }
+
+    // Runs action once the token is cancelled, straight away if it already is
+    public Registration onCancel(Runnable action) {
+        Registration registration = new Registration(action);
+        registrations.add(registration);
+        if (isCancelled()) {
+            registration.runIfRegistered();
+        }
+        return registration;
+    }
+}
@@ -0,0 +1,31 @@
+package com.sedna.crawler;
+
+import java.time.Duration;
+import java.util.List;
+
+// Outcome of one crawl() call. urls holds every page that was fetched and delivered to the sink,
+// also when the crawl stopped early. failedUrls holds the URLs whose fetch was made and failed, with
+// a 4xx/5xx status or a network error; redirects and URLs left out by the budget, deadline or
+// cancellation are in neither list.
+public record CrawlResult(List<String> urls, List<String> failedUrls, Status status, long cancelledFetches,
+                          long unvisitedUrls, Duration elapsed) {
+
+    public enum Status {
+        // The frontier ran dry
+        COMPLETED,
+        MAX_PAGES,
+        DEADLINE,
+        CANCELLED,
+        // An internal error ended the crawl
+        FAILED
+    }
+
+    public int pagesCrawled() {
+        return urls.size();
+    }
+
+    // True when URLs that were in scope may have been left unvisited
+    public boolean isPartial() {
+        return status == Status.DEADLINE || status == Status.CANCELLED || status == Status.FAILED;
+    }
+}
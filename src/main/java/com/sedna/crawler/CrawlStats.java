@@ -0,0 +1,67 @@
+package com.sedna.crawler;
+
+import com.sedna.crawler.sink.PageSink;
+import com.sedna.crawler.utils.LatencyHistogram;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+public class CrawlStats implements PageSink {
+    private final LongAdder pages = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder duplicatePages = new LongAdder();
+    private final LatencyHistogram fetchLatency = new LatencyHistogram();
+    private final long startNanos = System.nanoTime();
+    private volatile long stopNanos;
+
+    @Override
+    public void accept(CrawledPage page) {
+        pages.increment();
+        bytes.add(page.bodyLength());
+        fetchLatency.recordNanos(page.fetchNanos());
+    }
+
+    public void addDuplicatePages(int count) {
+        duplicatePages.add(count);
+    }
+
+    public long getDuplicatePages() {
+        return duplicatePages.sum();
+    }
+
+    public void stop() {
+        stopNanos = System.nanoTime();
+    }
+
+    public long getPages() {
+        return pages.sum();
+    }
+
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    public LatencyHistogram getFetchLatency() {
+        return fetchLatency;
+    }
+
+    public double getElapsedSeconds() {
+        long end = stopNanos != 0 ? stopNanos : System.nanoTime();
+        return (end - startNanos) / 1e9;
+    }
+
+    public String toJson() {
+        double seconds = Math.max(getElapsedSeconds(), 1e-9);
+        return String.format(Locale.ROOT,
+                "{\"pages\":%d,\"duplicatePages\":%d,\"bytes\":%d,\"elapsedSeconds\":%.3f,\"pagesPerSecond\":%.2f,"
+                        + "\"bytesPerSecond\":%.0f,\"latencyMs\":{\"mean\":%.1f,\"p50\":%.1f,"
+                        + "\"p90\":%.1f,\"p99\":%.1f,\"max\":%.1f}}",
+                getPages(), getDuplicatePages(), getBytes(), getElapsedSeconds(),
+                getPages() / seconds, getBytes() / seconds,
+                fetchLatency.meanMillis(),
+                fetchLatency.percentileMillis(50),
+                fetchLatency.percentileMillis(90),
+                fetchLatency.percentileMillis(99),
+                fetchLatency.percentileMillis(100));
+    }
+}
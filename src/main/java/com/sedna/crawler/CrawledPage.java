@@ -0,0 +1,27 @@
+package com.sedna.crawler;
+
+import com.sedna.crawler.utils.ByteCharSequence;
+import com.sedna.crawler.utils.CharsetDetector;
+
+import java.net.http.HttpHeaders;
+import java.nio.charset.Charset;
+
+// content holds the body exactly as received; charset is what CharsetDetector made of it
+public record CrawledPage(String url, int statusCode, HttpHeaders headers, byte[] content, Charset charset,
+                          long fetchNanos) {
+
+    public long bodyLength() {
+        return content.length;
+    }
+
+    // Decodes the whole body; prefer markup() when only tags and URLs are needed
+    public String body() {
+        return new String(content, charset);
+    }
+
+    // The body for markup scanning. For ASCII-compatible charsets this is a view of the raw bytes
+    // in which non-ASCII bytes appear as ISO-8859-1 characters; otherwise the decoded body.
+    public CharSequence markup() {
+        return CharsetDetector.isAsciiCompatible(charset) ? new ByteCharSequence(content) : body();
+    }
+}
@@ -0,0 +1,430 @@
+package com.sedna.crawler;
+
+import com.sedna.crawler.budget.CrawlBudget;
+import com.sedna.crawler.dns.HostResolver;
+import com.sedna.crawler.scope.PublicSuffixList;
+import com.sedna.crawler.scope.ScopeRules;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+
+public class CrawlerConfig {
+    private int maxPages = 200;
+    // 0 for no limit
+    private int maxPagesPerHost = CrawlBudget.NO_LIMIT;
+    // Links followed from a seed, -1 for no limit
+    private int maxDepth = CrawlBudget.NO_DEPTH_LIMIT;
+    // Pages fetched at any single depth, 0 for no limit
+    private int maxPagesPerDepth = CrawlBudget.NO_LIMIT;
+    // avoid too many concurrent streams
+    private int maxConcurrentRequestsPerHost = 2;
+    private Duration connectTimeout = Duration.ofSeconds(15);
+    private Duration requestTimeout = Duration.ofSeconds(30);
+    // Wall-clock limit for each crawl, null for none
+    private Duration crawlTimeLimit;
+    private Path stateDir;
+    private boolean archive;
+    private boolean verbose = true;
+    private boolean detectDuplicates = true;
+    private boolean captureLinkGraph;
+    // Per-stage timing, printed to stderr when a crawl ends
+    private boolean profile;
+    private int maxInFlightPages = 256;
+    // URLs kept on the heap before the frontier spills to disk
+    private int frontierMemoryWindow = 10_000;
+    private Duration dnsCacheTtl = Duration.ofMinutes(5);
+    // Share per-host concurrency slots between hosts that resolve to the same address
+    private boolean politenessByIp;
+    private HostResolver hostResolver = HostResolver.SYSTEM;
+    private boolean recrawl;
+    private double recrawlPriorChangesPerDay = 1.0;
+    private double recrawlMinChangeProbability = 0.2;
+    private ScopeRules scopeRules = new ScopeRules();
+
+    public static CrawlerConfig load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return fromProperties(properties);
+    }
+
+    public static CrawlerConfig fromProperties(Properties properties) {
+        CrawlerConfig config = new CrawlerConfig();
+        String value;
+
+        if ((value = properties.getProperty("maxPages")) != null) {
+            config.setMaxPages(parseInt("maxPages", value));
+        }
+        if ((value = properties.getProperty("maxPagesPerHost")) != null) {
+            config.setMaxPagesPerHost(parseInt("maxPagesPerHost", value));
+        }
+        if ((value = properties.getProperty("maxDepth")) != null) {
+            config.setMaxDepth(parseInt("maxDepth", value));
+        }
+        if ((value = properties.getProperty("maxPagesPerDepth")) != null) {
+            config.setMaxPagesPerDepth(parseInt("maxPagesPerDepth", value));
+        }
+        if ((value = properties.getProperty("maxConcurrentRequestsPerHost")) != null) {
+            config.setMaxConcurrentRequestsPerHost(parseInt("maxConcurrentRequestsPerHost", value));
+        }
+        if ((value = properties.getProperty("connectTimeoutSeconds")) != null) {
+            config.setConnectTimeout(Duration.ofSeconds(parseInt("connectTimeoutSeconds", value)));
+        }
+        if ((value = properties.getProperty("requestTimeoutSeconds")) != null) {
+            config.setRequestTimeout(Duration.ofSeconds(parseInt("requestTimeoutSeconds", value)));
+        }
+        if ((value = properties.getProperty("crawlTimeLimitSeconds")) != null) {
+            int seconds = parseInt("crawlTimeLimitSeconds", value);
+            config.setCrawlTimeLimit(seconds == 0 ? null : Duration.ofSeconds(seconds));
+        }
+        if ((value = properties.getProperty("stateDir")) != null && !value.isBlank()) {
+            config.setStateDir(Path.of(value.trim()));
+        }
+        if ((value = properties.getProperty("archive")) != null) {
+            config.setArchive(Boolean.parseBoolean(value.trim()));
+        }
+        if ((value = properties.getProperty("verbose")) != null) {
+            config.setVerbose(Boolean.parseBoolean(value.trim()));
+        }
+        if ((value = properties.getProperty("detectDuplicates")) != null) {
+            config.setDetectDuplicates(Boolean.parseBoolean(value.trim()));
+        }
+        if ((value = properties.getProperty("captureLinkGraph")) != null) {
+            config.setCaptureLinkGraph(Boolean.parseBoolean(value.trim()));
+        }
+        if ((value = properties.getProperty("profile")) != null) {
+            config.setProfile(Boolean.parseBoolean(value.trim()));
+        }
+        if ((value = properties.getProperty("maxInFlightPages")) != null) {
+            config.setMaxInFlightPages(parseInt("maxInFlightPages", value));
+        }
+        if ((value = properties.getProperty("frontierMemoryWindow")) != null) {
+            config.setFrontierMemoryWindow(parseInt("frontierMemoryWindow", value));
+        }
+        if ((value = properties.getProperty("dnsCacheTtlSeconds")) != null) {
+            config.setDnsCacheTtl(Duration.ofSeconds(parseInt("dnsCacheTtlSeconds", value)));
+        }
+        if ((value = properties.getProperty("politenessByIp")) != null) {
+            config.setPolitenessByIp(Boolean.parseBoolean(value.trim()));
+        }
+        if ((value = properties.getProperty("recrawl")) != null) {
+            config.setRecrawl(Boolean.parseBoolean(value.trim()));
+        }
+        if ((value = properties.getProperty("recrawlPriorChangesPerDay")) != null) {
+            config.setRecrawlPriorChangesPerDay(parseDouble("recrawlPriorChangesPerDay", value));
+        }
+        if ((value = properties.getProperty("recrawlMinChangeProbability")) != null) {
+            config.setRecrawlMinChangeProbability(parseDouble("recrawlMinChangeProbability", value));
+        }
+        readScopeRules(properties, config.getScopeRules());
+        return config;
+    }
+
+    private static void readScopeRules(Properties properties, ScopeRules rules) {
+        String value;
+        if ((value = properties.getProperty("includeHosts")) != null) {
+            splitList(value).forEach(rules::includeHost);
+        }
+        if ((value = properties.getProperty("excludeHosts")) != null) {
+            splitList(value).forEach(rules::excludeHost);
+        }
+        if ((value = properties.getProperty("includePaths")) != null) {
+            splitList(value).forEach(rules::includePath);
+        }
+        if ((value = properties.getProperty("excludePaths")) != null) {
+            splitList(value).forEach(rules::excludePath);
+        }
+        if ((value = properties.getProperty("maxHosts")) != null) {
+            rules.setMaxHosts(parseInt("maxHosts", value));
+        }
+        if ((value = properties.getProperty("registeredDomainScope")) != null) {
+            rules.setRegisteredDomainScope(Boolean.parseBoolean(value.trim()));
+        }
+        try {
+            if ((value = properties.getProperty("scopeRulesFile")) != null && !value.isBlank()) {
+                rules.load(Path.of(value.trim()));
+            }
+            if ((value = properties.getProperty("publicSuffixFile")) != null && !value.isBlank()) {
+                rules.setPublicSuffixes(PublicSuffixList.load(Path.of(value.trim())));
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read " + value + ": " + e.getMessage());
+        }
+    }
+
+    private static List<String> splitList(String value) {
+        return Arrays.stream(value.split(",")).map(String::trim).filter(item -> !item.isEmpty()).toList();
+    }
+
+    private static double parseDouble(String key, String value) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + value);
+        }
+    }
+
+    private static int parseInt(String key, String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + value);
+        }
+    }
+
+    private static Duration requirePositive(String name, Duration duration) {
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return duration;
+    }
+
+    public int getMaxPages() {
+        return maxPages;
+    }
+
+    public CrawlerConfig setMaxPages(int maxPages) {
+        if (maxPages <= 0) {
+            throw new IllegalArgumentException("maxPages must be positive");
+        }
+        this.maxPages = maxPages;
+        return this;
+    }
+
+    public int getMaxPagesPerHost() {
+        return maxPagesPerHost;
+    }
+
+    public CrawlerConfig setMaxPagesPerHost(int maxPagesPerHost) {
+        if (maxPagesPerHost < 0) {
+            throw new IllegalArgumentException("maxPagesPerHost must not be negative");
+        }
+        this.maxPagesPerHost = maxPagesPerHost;
+        return this;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public CrawlerConfig setMaxDepth(int maxDepth) {
+        if (maxDepth < CrawlBudget.NO_DEPTH_LIMIT) {
+            throw new IllegalArgumentException("maxDepth must be -1 or more");
+        }
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    public int getMaxPagesPerDepth() {
+        return maxPagesPerDepth;
+    }
+
+    public CrawlerConfig setMaxPagesPerDepth(int maxPagesPerDepth) {
+        if (maxPagesPerDepth < 0) {
+            throw new IllegalArgumentException("maxPagesPerDepth must not be negative");
+        }
+        this.maxPagesPerDepth = maxPagesPerDepth;
+        return this;
+    }
+
+    public int getMaxConcurrentRequestsPerHost() {
+        return maxConcurrentRequestsPerHost;
+    }
+
+    public CrawlerConfig setMaxConcurrentRequestsPerHost(int maxConcurrentRequestsPerHost) {
+        if (maxConcurrentRequestsPerHost <= 0) {
+            throw new IllegalArgumentException("maxConcurrentRequestsPerHost must be positive");
+        }
+        this.maxConcurrentRequestsPerHost = maxConcurrentRequestsPerHost;
+        return this;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public CrawlerConfig setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = requirePositive("connectTimeout", connectTimeout);
+        return this;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public CrawlerConfig setRequestTimeout(Duration requestTimeout) {
+        this.requestTimeout = requirePositive("requestTimeout", requestTimeout);
+        return this;
+    }
+
+    public Duration getCrawlTimeLimit() {
+        return crawlTimeLimit;
+    }
+
+    public CrawlerConfig setCrawlTimeLimit(Duration crawlTimeLimit) {
+        this.crawlTimeLimit = crawlTimeLimit == null ? null : requirePositive("crawlTimeLimit", crawlTimeLimit);
+        return this;
+    }
+
+    // Deadline for a crawl starting at start, or null when there is no time limit
+    public Instant deadlineFrom(Instant start) {
+        return crawlTimeLimit == null ? null : start.plus(crawlTimeLimit);
+    }
+
+    public Path getStateDir() {
+        return stateDir;
+    }
+
+    public CrawlerConfig setStateDir(Path stateDir) {
+        this.stateDir = stateDir;
+        return this;
+    }
+
+    public boolean isArchive() {
+        return archive;
+    }
+
+    public CrawlerConfig setArchive(boolean archive) {
+        this.archive = archive;
+        return this;
+    }
+
+    public boolean isVerbose() {
+        return verbose;
+    }
+
+    public CrawlerConfig setVerbose(boolean verbose) {
+        this.verbose = verbose;
+        return this;
+    }
+
+    public boolean isDetectDuplicates() {
+        return detectDuplicates;
+    }
+
+    public CrawlerConfig setDetectDuplicates(boolean detectDuplicates) {
+        this.detectDuplicates = detectDuplicates;
+        return this;
+    }
+
+    public boolean isCaptureLinkGraph() {
+        return captureLinkGraph;
+    }
+
+    public CrawlerConfig setCaptureLinkGraph(boolean captureLinkGraph) {
+        this.captureLinkGraph = captureLinkGraph;
+        return this;
+    }
+
+    public boolean isProfile() {
+        return profile;
+    }
+
+    public CrawlerConfig setProfile(boolean profile) {
+        this.profile = profile;
+        return this;
+    }
+
+    public int getMaxInFlightPages() {
+        return maxInFlightPages;
+    }
+
+    public CrawlerConfig setMaxInFlightPages(int maxInFlightPages) {
+        if (maxInFlightPages <= 0) {
+            throw new IllegalArgumentException("maxInFlightPages must be positive");
+        }
+        this.maxInFlightPages = maxInFlightPages;
+        return this;
+    }
+
+    public int getFrontierMemoryWindow() {
+        return frontierMemoryWindow;
+    }
+
+    public CrawlerConfig setFrontierMemoryWindow(int frontierMemoryWindow) {
+        if (frontierMemoryWindow < 2) {
+            throw new IllegalArgumentException("frontierMemoryWindow must be at least 2");
+        }
+        this.frontierMemoryWindow = frontierMemoryWindow;
+        return this;
+    }
+
+    public Duration getDnsCacheTtl() {
+        return dnsCacheTtl;
+    }
+
+    public CrawlerConfig setDnsCacheTtl(Duration dnsCacheTtl) {
+        this.dnsCacheTtl = requirePositive("dnsCacheTtl", dnsCacheTtl);
+        return this;
+    }
+
+    public boolean isPolitenessByIp() {
+        return politenessByIp;
+    }
+
+    public CrawlerConfig setPolitenessByIp(boolean politenessByIp) {
+        this.politenessByIp = politenessByIp;
+        return this;
+    }
+
+    public HostResolver getHostResolver() {
+        return hostResolver;
+    }
+
+    public CrawlerConfig setHostResolver(HostResolver hostResolver) {
+        this.hostResolver = Objects.requireNonNull(hostResolver);
+        return this;
+    }
+
+    public boolean isRecrawl() {
+        return recrawl;
+    }
+
+    public CrawlerConfig setRecrawl(boolean recrawl) {
+        this.recrawl = recrawl;
+        return this;
+    }
+
+    public double getRecrawlPriorChangesPerDay() {
+        return recrawlPriorChangesPerDay;
+    }
+
+    public CrawlerConfig setRecrawlPriorChangesPerDay(double recrawlPriorChangesPerDay) {
+        if (recrawlPriorChangesPerDay <= 0) {
+            throw new IllegalArgumentException("recrawlPriorChangesPerDay must be positive");
+        }
+        this.recrawlPriorChangesPerDay = recrawlPriorChangesPerDay;
+        return this;
+    }
+
+    public double getRecrawlMinChangeProbability() {
+        return recrawlMinChangeProbability;
+    }
+
+    public CrawlerConfig setRecrawlMinChangeProbability(double recrawlMinChangeProbability) {
+        if (recrawlMinChangeProbability < 0 || recrawlMinChangeProbability > 1) {
+            throw new IllegalArgumentException("recrawlMinChangeProbability must be between 0 and 1");
+        }
+        this.recrawlMinChangeProbability = recrawlMinChangeProbability;
+        return this;
+    }
+
+    public ScopeRules getScopeRules() {
+        return scopeRules;
+    }
+
+    public CrawlerConfig setScopeRules(ScopeRules scopeRules) {
+        this.scopeRules = Objects.requireNonNull(scopeRules);
+        return this;
+    }
+}
@@ -0,0 +1,73 @@
+package com.sedna.crawler;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+public class LinkCache {
+    // Stored for hrefs that resolved to nothing or to a URL outside the crawl scope
+    private static final String REJECTED = "";
+    private static final int DEFAULT_MAX_ENTRIES_PER_HOST = 4096;
+
+    private final ConcurrentHashMap<String, Host> hosts = new ConcurrentHashMap<>();
+    private final int maxEntriesPerHost;
+
+    public LinkCache(int maxEntriesPerHost) {
+        if (maxEntriesPerHost <= 0) {
+            throw new IllegalArgumentException("maxEntriesPerHost must be positive");
+        }
+        this.maxEntriesPerHost = maxEntriesPerHost;
+    }
+
+    public LinkCache() {
+        this(DEFAULT_MAX_ENTRIES_PER_HOST);
+    }
+
+    public Host forOrigin(String origin) {
+        return hosts.computeIfAbsent(origin, k -> new Host(maxEntriesPerHost));
+    }
+
+    // Only hrefs that resolve the same way from every page of an origin can be shared.
+    // Path-relative hrefs ("page.html", "../x", "?q=1") depend on the page path and are not cached.
+    static boolean isCacheable(String href) {
+        return href.startsWith("/") ||
+                href.startsWith("http://") ||
+                href.startsWith("https://") ||
+                href.startsWith("#") ||
+                href.startsWith("mailto:") ||
+                href.startsWith("javascript:");
+    }
+
+    public static class Host {
+        private final ConcurrentHashMap<String, String> entries = new ConcurrentHashMap<>();
+        private final int maxEntries;
+
+        private Host(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        // Returns the resolved in-scope URL, or null if the href was rejected.
+        // The resolver only runs for hrefs this host has not seen recently.
+        public String resolve(String href, UnaryOperator<String> resolver) {
+            if (!isCacheable(href)) {
+                return resolver.apply(href);
+            }
+
+            String cached = entries.get(href);
+            if (cached == null) {
+                String resolved = resolver.apply(href);
+                cached = resolved == null ? REJECTED : resolved;
+
+                // Template links repeat, so a full reset is cheaper than tracking recency
+                if (entries.size() >= maxEntries) {
+                    entries.clear();
+                }
+                entries.put(href, cached);
+            }
+            return cached.isEmpty() ? null : cached;
+        }
+
+        int size() {
+            return entries.size();
+        }
+    }
+}
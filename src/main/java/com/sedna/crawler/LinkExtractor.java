@@ -0,0 +1,194 @@
+package com.sedna.crawler;
+
+import com.sedna.crawler.utils.ByteCharSequence;
+import com.sedna.crawler.utils.CharsetDetector;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Finds link-bearing tags in one scan of the document. Attribute values may be double-quoted,
+// single-quoted or unquoted. Only the inside of matched tags is parsed further.
+public class LinkExtractor {
+    private static final Pattern TAG_PATTERN = Pattern.compile(
+            "<(a|area|link|base|meta|frame|iframe|img|source)\\b([^>]*)>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ATTRIBUTE_PATTERN = Pattern.compile(
+            "([a-zA-Z_:][-a-zA-Z0-9_:.]*)\\s*=\\s*(?:\"([^\"]*)\"|'([^']*)'|([^\\s\"'=<>`]+))");
+    private static final Pattern LINK_HEADER_PATTERN = Pattern.compile("<([^>]*)>([^,<]*)");
+    private static final Pattern REL_PARAM_PATTERN = Pattern.compile(
+            "rel\\s*=\\s*(?:\"([^\"]*)\"|([^\\s;,]+))", Pattern.CASE_INSENSITIVE);
+    private static final Pattern REFRESH_URL_PATTERN = Pattern.compile(
+            "url\\s*=\\s*['\"]?([^'\"]+)", Pattern.CASE_INSENSITIVE);
+
+    public record RawLink(String href, LinkType type) {
+    }
+
+    // baseHref is the first <base href>, or null. Relative links resolve against it, wherever
+    // it appears in the document.
+    public record Extraction(String baseHref, List<RawLink> links) {
+    }
+
+    public static Extraction extract(CharSequence html) {
+        return extract(html, UnaryOperator.identity());
+    }
+
+    // Scans the raw bytes when the charset is ASCII-compatible and decodes only the URLs that
+    // contain non-ASCII bytes, so the page is never decoded as a whole
+    public static Extraction extract(byte[] content, Charset charset) {
+        if (!CharsetDetector.isAsciiCompatible(charset)) {
+            return extract(new String(content, charset));
+        }
+        return extract(new ByteCharSequence(content), value -> decode(value, charset));
+    }
+
+    private static Extraction extract(CharSequence html, UnaryOperator<String> decoder) {
+        List<RawLink> links = new ArrayList<>();
+        String baseHref = null;
+        Matcher tag = TAG_PATTERN.matcher(html);
+
+        while (tag.find()) {
+            String name = tag.group(1).toLowerCase(Locale.ROOT);
+            String attributes = tag.group(2);
+
+            switch (name) {
+                case "a" -> add(links, decoder.apply(attribute(attributes, "href")), LinkType.ANCHOR);
+                case "area" -> add(links, decoder.apply(attribute(attributes, "href")), LinkType.AREA);
+                case "frame", "iframe" -> add(links, decoder.apply(attribute(attributes, "src")), LinkType.FRAME);
+                case "link" -> add(links, decoder.apply(attribute(attributes, "href")),
+                        relType(attribute(attributes, "rel"), attribute(attributes, "type")));
+                case "base" -> {
+                    if (baseHref == null) {
+                        baseHref = decoder.apply(attribute(attributes, "href"));
+                    }
+                }
+                case "meta" -> {
+                    String httpEquiv = attribute(attributes, "http-equiv");
+                    if (httpEquiv != null && httpEquiv.equalsIgnoreCase("refresh")) {
+                        add(links, decoder.apply(refreshUrl(attribute(attributes, "content"))), LinkType.META_REFRESH);
+                    }
+                }
+                case "img", "source" -> {
+                    add(links, decoder.apply(attribute(attributes, "src")), LinkType.IMAGE);
+                    addSrcset(links, decoder.apply(attribute(attributes, "srcset")));
+                }
+                default -> {
+                }
+            }
+        }
+
+        return new Extraction(baseHref, links);
+    }
+
+    // Parses an HTTP Link header: <url>; rel="next", <url>; rel=canonical
+    public static List<RawLink> fromLinkHeader(String headerValue) {
+        List<RawLink> links = new ArrayList<>();
+        Matcher entry = LINK_HEADER_PATTERN.matcher(headerValue);
+        while (entry.find()) {
+            Matcher rel = REL_PARAM_PATTERN.matcher(entry.group(2));
+            String relValue = rel.find() ? (rel.group(1) != null ? rel.group(1) : rel.group(2)) : null;
+            add(links, entry.group(1), relType(relValue, null));
+        }
+        return links;
+    }
+
+    private static void add(List<RawLink> links, String href, LinkType type) {
+        if (href != null) {
+            String trimmed = decodeEntities(href.trim());
+            if (!trimmed.isEmpty()) {
+                links.add(new RawLink(trimmed, type));
+            }
+        }
+    }
+
+    private static void addSrcset(List<RawLink> links, String srcset) {
+        if (srcset == null) {
+            return;
+        }
+        // "small.jpg 480w, large.jpg 1080w" - the URL is the first token of each candidate
+        for (String candidate : srcset.split(",")) {
+            String trimmed = candidate.trim();
+            int space = trimmed.indexOf(' ');
+            add(links, space > 0 ? trimmed.substring(0, space) : trimmed, LinkType.IMAGE);
+        }
+    }
+
+    private static String attribute(String attributes, String name) {
+        if (attributes.isEmpty()) {
+            return null;
+        }
+        Matcher attribute = ATTRIBUTE_PATTERN.matcher(attributes);
+        while (attribute.find()) {
+            if (attribute.group(1).equalsIgnoreCase(name)) {
+                for (int group = 2; group <= 4; group++) {
+                    if (attribute.group(group) != null) {
+                        return attribute.group(group);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static LinkType relType(String rel, String type) {
+        if (rel == null) {
+            return LinkType.OTHER;
+        }
+        LinkType result = LinkType.OTHER;
+        for (String token : rel.toLowerCase(Locale.ROOT).split("\\s+")) {
+            switch (token) {
+                case "canonical" -> result = LinkType.CANONICAL;
+                case "next" -> result = LinkType.NEXT;
+                case "prev", "previous" -> result = LinkType.PREV;
+                case "stylesheet" -> {
+                    return LinkType.STYLESHEET;
+                }
+                case "icon", "apple-touch-icon" -> {
+                    return LinkType.IMAGE;
+                }
+                case "alternate" -> {
+                    // Feeds and other non-HTML alternates are not pages
+                    if (result == LinkType.OTHER && (type == null || type.toLowerCase(Locale.ROOT).contains("html"))) {
+                        result = LinkType.ALTERNATE;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return result;
+    }
+
+    // content="5; url=/next"
+    private static String refreshUrl(String content) {
+        if (content == null) {
+            return null;
+        }
+        Matcher url = REFRESH_URL_PATTERN.matcher(content);
+        return url.find() ? url.group(1) : null;
+    }
+
+    // value holds raw bytes as ISO-8859-1 characters, see ByteCharSequence
+    private static String decode(String value, Charset charset) {
+        if (value == null) {
+            return null;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return new String(value.getBytes(StandardCharsets.ISO_8859_1), charset);
+            }
+        }
+        return value;
+    }
+
+    private static String decodeEntities(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&amp;", "&").replace("&#38;", "&").replace("&#x26;", "&");
+    }
+}
@@ -0,0 +1,26 @@
+package com.sedna.crawler;
+
+public enum LinkType {
+    ANCHOR(true),
+    AREA(true),
+    FRAME(true),
+    CANONICAL(true),
+    NEXT(true),
+    PREV(true),
+    ALTERNATE(true),
+    META_REFRESH(true),
+    IMAGE(false),
+    STYLESHEET(false),
+    OTHER(false);
+
+    private final boolean followable;
+
+    LinkType(boolean followable) {
+        this.followable = followable;
+    }
+
+    // Whether the target is expected to be an HTML page worth crawling
+    public boolean isFollowable() {
+        return followable;
+    }
+}
@@ -2,9 +2,16 @@ package com.sedna.crawler;
 
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 public class Main {
     public static void main(String[] args) {
+        if (args.length > 0) {
+            runBatch(args);
+            return;
+        }
+
         Scanner scanner = new Scanner(System.in);
 
         System.out.println("Web Crawler");
@@ -27,13 +34,13 @@ public class Main {
             try (WebCrawler crawler = new WebCrawler()) {
                 System.out.println("\nCrawling " + inputUrl + " with parallelism ...\n");
 
-                long startTime = System.currentTimeMillis();
+                long startTime = System.nanoTime();
                 List<String> foundUrls = crawler.crawl(inputUrl);
-                long endTime = System.currentTimeMillis();
+                long endTime = System.nanoTime();
 
                 System.out.println("\n--- CRAWL RESULTS ---");
                 System.out.println("Found " + foundUrls.size() + " pages:");
-                System.out.println("Time taken: " + (endTime - startTime) + "ms");
+                System.out.println("Time taken: " + (endTime - startTime) / 1_000_000 + "ms");
 
                 for (String url : foundUrls) {
                     System.out.println(url);
@@ -45,4 +52,36 @@ public class Main {
 
         scanner.close();
     }
-}
\ No newline at end of file
+
+    private static void runBatch(String[] args) {
+        try {
+            BatchCrawl batch = BatchCrawl.fromArgs(args);
+
+            // On Ctrl-C, stop crawling but give run() time to flush results and stats
+            CountDownLatch finished = new CountDownLatch(1);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                batch.cancel();
+                try {
+                    finished.await(15, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+
+            int failedSeeds;
+            try {
+                failedSeeds = batch.run();
+            } finally {
+                finished.countDown();
+            }
+            System.exit(failedSeeds == 0 ? 0 : 1);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: --seeds <file> [--config <file>] [--output <file>|-]");
+            System.exit(2);
+        } catch (Exception e) {
+            System.err.println("Batch crawl failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
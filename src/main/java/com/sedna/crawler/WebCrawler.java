@@ -1,41 +1,95 @@
 package com.sedna.crawler;
 
+import com.sedna.crawler.budget.CrawlBudget;
+import com.sedna.crawler.dedup.ContentFingerprint;
+import com.sedna.crawler.dedup.FingerprintIndex;
+import com.sedna.crawler.dns.DnsCache;
+import com.sedna.crawler.frontier.SeenUrlSet;
+import com.sedna.crawler.frontier.SpillingFrontier;
+import com.sedna.crawler.graph.LinkGraph;
+import com.sedna.crawler.profile.CrawlProfiler;
+import com.sedna.crawler.profile.Stage;
+import com.sedna.crawler.scope.ScopePolicy;
+import com.sedna.crawler.sink.PageSink;
+import com.sedna.crawler.utils.CharsetDetector;
 import com.sedna.crawler.utils.HttpUtils;
 import com.sedna.crawler.utils.UrlUtils;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.concurrent.atomic.LongAdder;
 import java.net.http.HttpClient;
-import java.time.Duration;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 
 import static com.sedna.crawler.utils.UrlUtils.*;
 
+// Profiler spans are closed by try-with-resources without being read
+@SuppressWarnings("try")
 public class WebCrawler implements AutoCloseable{
+    // How long a stopping crawl, or close(), waits for running tasks before interrupting them
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration HOST_SLOT_TIMEOUT = Duration.ofSeconds(10);
+
     private final Set<String> visitedUrls;
+    // Fetches that got an error status or a network error, see CrawlResult.failedUrls
+    private final Set<String> failedUrls = ConcurrentHashMap.newKeySet();
     private final HttpClient httpClient;
-    private final Pattern linkPattern;
-    private final Semaphore pageLimitSemaphore;
-    private final int maxPages;
+    private final CrawlBudget budget;
+    private final CrawlerConfig config;
     private final ExecutorService virtualThreadExecutor;
+    private final PageSink pageSink;
     private final ConcurrentHashMap<String, Semaphore> domainSemaphores = new ConcurrentHashMap<>();
-    // avoid too many concurrent streams
-    private static final int MAX_CONCURRENT_REQUESTS_PER_DOMAIN = 2;
+    // URLs already queued, so shared header/footer links are fetched once. Held as hashes, see SeenUrlSet
+    private final SeenUrlSet scheduledUrls = new SeenUrlSet();
+    private final LinkCache linkCache = new LinkCache();
+    private final FingerprintIndex fingerprintIndex = new FingerprintIndex();
+    private final DnsCache dnsCache;
+    private final ConcurrentHashMap<LinkType, LongAdder> linkTypeCounts = new ConcurrentHashMap<>();
+    // Set once, when the crawl starts to wind down for whatever reason
+    private final AtomicReference<CrawlResult.Status> stopReason = new AtomicReference<>();
+    // Completes with stopReason, waking the dispatcher and tasks in politeness pauses
+    private final CompletableFuture<Void> stopSignal = new CompletableFuture<>();
+    // Null unless link graph capture is on
+    private final LinkGraph linkGraph;
+    private final CrawlProfiler profiler;
+    private final Set<CompletableFuture<?>> inFlightRequests = ConcurrentHashMap.newKeySet();
+    private final LongAdder cancelledFetches = new LongAdder();
+
+    public WebCrawler(CrawlerConfig config, PageSink pageSink) {
+        this(config, pageSink, config.isCaptureLinkGraph() ? new LinkGraph() : null);
+    }
 
-    public WebCrawler(int maxPages) {
+    // Records outlinks into linkGraph, which may be shared with other crawlers, or null for none
+    public WebCrawler(CrawlerConfig config, PageSink pageSink, LinkGraph linkGraph) {
+        this.config = Objects.requireNonNull(config);
         this.visitedUrls = ConcurrentHashMap.newKeySet();
-        this.pageLimitSemaphore = new Semaphore(maxPages);
+        this.budget = new CrawlBudget(config.getMaxPages(), config.getMaxPagesPerHost(),
+                config.getMaxDepth(), config.getMaxPagesPerDepth());
         this.httpClient = HttpClient.newBuilder()
-                                    .connectTimeout(Duration.ofSeconds(15))
+                                    .connectTimeout(config.getConnectTimeout())
                                     .build();
-        this.linkPattern = Pattern.compile("<a\\s+(?:[^>]*?\\s+)?href=([\"'])(.*?)\\1",
-                Pattern.CASE_INSENSITIVE);
-        this.maxPages = maxPages;
         this.virtualThreadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.pageSink = Objects.requireNonNull(pageSink);
+        this.dnsCache = new DnsCache(config.getHostResolver(), config.getDnsCacheTtl());
+        this.linkGraph = linkGraph;
+        this.profiler = new CrawlProfiler(config.isProfile());
+    }
+
+    public WebCrawler(int maxPages, PageSink pageSink) {
+        this(new CrawlerConfig().setMaxPages(maxPages), pageSink);
+    }
+
+    public WebCrawler(int maxPages) {
+        this(maxPages, PageSink.NONE);
     }
 
     public WebCrawler() {
@@ -43,114 +97,378 @@ public class WebCrawler implements AutoCloseable{
     }
 
     public List<String> crawl(String startUrl) {
-        if (!isValidUrl(startUrl)) {
-            throw new IllegalArgumentException("Invalid URL: " + startUrl);
-        }
-        try {
-            String normalizedStartUrl = normalizeUrl(startUrl);
-            String domain = extractDomain(normalizedStartUrl);
+        return crawl(List.of(startUrl), url -> true);
+    }
 
-            // Start crawling and collect all futures
-            Set<CompletableFuture<Void>> activeTasks = ConcurrentHashMap.newKeySet();
+    // Crawls within the scope set by config.getScopeRules(), by default the host of the first seed
+    // and its subdomains. Discovered links are only followed when followFilter accepts them;
+    // seeds skip the scope check, but seeds on hosts other than the scope's count against maxHosts.
+    public List<String> crawl(Collection<String> seedUrls, Predicate<String> followFilter) {
+        return crawl(seedUrls, followFilter, config.deadlineFrom(Instant.now()), new CancellationToken()).urls();
+    }
 
-            CompletableFuture<Void> initialTask = crawlPageAsync(normalizedStartUrl, domain, activeTasks);
-            activeTasks.add(initialTask);
+    // As above, but stops at the deadline (null for none) or when cancellation is cancelled. In-flight
+    // requests are then aborted and the pages fetched so far are returned.
+    public CrawlResult crawl(Collection<String> seedUrls, Predicate<String> followFilter,
+                             Instant deadline, CancellationToken cancellation) {
+        if (seedUrls.isEmpty()) {
+            throw new IllegalArgumentException("At least one seed URL is required");
+        }
+        return crawl(seedUrls, seedUrls.iterator().next(), followFilter, deadline, cancellation);
+    }
 
-            // Wait for all tasks to complete
-            waitForCompletion(activeTasks);
+    // As above, but the default scope comes from scopeUrl's host instead of the first seed, for
+    // seed lists in no particular order
+    public CrawlResult crawl(Collection<String> seedUrls, String scopeUrl, Predicate<String> followFilter,
+                             Instant deadline, CancellationToken cancellation) {
+        if (seedUrls.isEmpty()) {
+            throw new IllegalArgumentException("At least one seed URL is required");
+        }
+        if (!isValidUrl(scopeUrl)) {
+            throw new IllegalArgumentException("Invalid URL: " + scopeUrl);
+        }
+        for (String seedUrl : seedUrls) {
+            if (!isValidUrl(seedUrl)) {
+                throw new IllegalArgumentException("Invalid URL: " + seedUrl);
+            }
+        }
+        long startNanos = System.nanoTime();
+        long unvisitedUrls = 0;
+        CancellationToken.Registration onCancel = cancellation.onCancel(() -> stop(CrawlResult.Status.CANCELLED));
+        CompletableFuture<Void> deadlineTimer = deadline != null ? scheduleDeadline(deadline) : null;
+
+        try (SpillingFrontier frontier = new SpillingFrontier(config.getFrontierMemoryWindow(), spillDirectory())) {
+            ScopePolicy scope = ScopePolicy.compile(config.getScopeRules(), extractDomain(normalizeUrl(scopeUrl)));
+
+            for (String seedUrl : seedUrls) {
+                String normalizedSeedUrl = normalizeUrl(seedUrl);
+                if (scheduledUrls.add(normalizedSeedUrl)) {
+                    profiler.queued(normalizedSeedUrl, null);
+                    prefetchHost(normalizedSeedUrl);
+                    frontier.push(normalizedSeedUrl, 0);
+                }
+            }
 
-            return new ArrayList<>(visitedUrls);
+            // Dispatch from the frontier and wait for all tasks to complete
+            dispatchUntilDone(frontier, scope, followFilter);
+            unvisitedUrls = frontier.size();
+
+            stop(budget.isExhausted() ? CrawlResult.Status.MAX_PAGES : CrawlResult.Status.COMPLETED);
+            if (profiler.isEnabled()) {
+                System.err.print(profiler.report());
+            }
 
         } catch (Exception e) {
-            System.err.println("Error starting crawl: " + e.getMessage());
-            return new ArrayList<>();
+            System.err.println("Error during crawl: " + e.getMessage());
+            stop(CrawlResult.Status.FAILED);
         } finally {
+            onCancel.remove();
+            if (deadlineTimer != null) {
+                deadlineTimer.cancel(false);
+            }
             virtualThreadExecutor.shutdown();
         }
+
+        return new CrawlResult(new ArrayList<>(visitedUrls), new ArrayList<>(failedUrls), stopReason.get(),
+                cancelledFetches.sum(), unvisitedUrls, Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    private CompletableFuture<Void> scheduleDeadline(Instant deadline) {
+        long delayNanos = Math.max(0, Duration.between(Instant.now(), deadline).toNanos());
+        return CompletableFuture.runAsync(() -> stop(CrawlResult.Status.DEADLINE),
+                CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS));
+    }
+
+    // The first reason wins. Aborting the exchanges makes the waiting tasks finish straight away.
+    private void stop(CrawlResult.Status reason) {
+        if (stopReason.compareAndSet(null, reason)) {
+            stopSignal.complete(null);
+            inFlightRequests.forEach(request -> request.cancel(true));
+        }
+    }
+
+    private boolean isStopping() {
+        return stopReason.get() != null;
+    }
+
+    // Sleeps, but returns as soon as the crawl starts to stop
+    private void pause(long millis) {
+        try {
+            stopSignal.get(millis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException | InterruptedException e) {
+            // Pause over
+        }
+    }
+
+    private Path spillDirectory() {
+        return config.getStateDir() != null ? config.getStateDir().resolve("frontier") : null;
     }
 
-    private void waitForCompletion(Set<CompletableFuture<Void>> activeTasks) {
-        while (!activeTasks.isEmpty() && visitedUrls.size() < maxPages) {
+    // Only maxInFlightPages tasks exist at a time; everything else waits in the frontier. A task
+    // is only started once it holds a budget slot, so no fetch is made that cannot be kept.
+    private void dispatchUntilDone(SpillingFrontier frontier, ScopePolicy scope,
+                                   Predicate<String> followFilter) throws IOException {
+        Set<CompletableFuture<Void>> activeTasks = new HashSet<>();
+        try {
+            dispatch(frontier, scope, followFilter, activeTasks);
+        } finally {
+            drain(activeTasks);
+        }
+    }
+
+    private void dispatch(SpillingFrontier frontier, ScopePolicy scope, Predicate<String> followFilter,
+                          Set<CompletableFuture<Void>> activeTasks) throws IOException {
+        while (!isStopping()) {
             // Remove completed tasks
             activeTasks.removeIf(CompletableFuture::isDone);
 
-            if (!activeTasks.isEmpty()) {
-                System.out.println("Progress: " + visitedUrls.size() + " pages crawled, "
-                        + activeTasks.size() + " active tasks");
-
-                // Wait for at least one task to complete
-                CompletableFuture<Void> anyCompleted = CompletableFuture.anyOf(
-                        activeTasks.toArray(new CompletableFuture[0])
-                ).thenApply(v -> null);
-
-                try {
-                    anyCompleted.get(200, TimeUnit.MILLISECONDS);
-                } catch (TimeoutException e) {
-                    // Continue checking - timeout is expected
-                } catch (Exception e) {
-                    System.err.println("Error waiting for tasks: " + e.getMessage());
+            SpillingFrontier.Entry next;
+            while (!isStopping() &&
+                    activeTasks.size() < config.getMaxInFlightPages() &&
+                    budget.hasCapacity() &&
+                    (next = frontier.poll()) != null) {
+                CrawlBudget.Reservation reservation = reserve(next, scope);
+                if (reservation != null) {
+                    activeTasks.add(crawlPageAsync(next, reservation, scope, followFilter, frontier));
                 }
             }
+
+            if (activeTasks.isEmpty()) {
+                // The frontier is drained or the budget is fully committed, and nothing running
+                // can add work or refund a slot
+                break;
+            }
+
+            log("Progress: " + budget.committed() + " pages crawled, "
+                    + activeTasks.size() + " active tasks, "
+                    + frontier.size() + " queued (" + frontier.spilledCount() + " spilled)");
+
+            // Wait for at least one task to complete, or for the crawl to be stopped
+            List<CompletableFuture<?>> wakeUps = new ArrayList<>(activeTasks);
+            wakeUps.add(stopSignal);
+            CompletableFuture<Object> anyCompleted = CompletableFuture.anyOf(wakeUps.toArray(new CompletableFuture[0]));
+
+            try {
+                anyCompleted.get(200, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Continue checking - timeout is expected
+            } catch (Exception e) {
+                System.err.println("Error waiting for tasks: " + e.getMessage());
+            }
         }
     }
 
-    private CompletableFuture<Void> crawlPageAsync(String url, String domain,
-                                                   Set<CompletableFuture<Void>> activeTasks) {
-        return CompletableFuture.runAsync(() -> {
-            if (visitedUrls.contains(url) ||
-                    !UrlUtils.isSameDomain(url, domain)) {
-                return;
-            }
+    // Tasks left after a stop only have to finish their pause or see their request cancelled,
+    // so this is normally quick; stuck tasks are interrupted after DRAIN_TIMEOUT
+    private void drain(Set<CompletableFuture<Void>> activeTasks) {
+        activeTasks.removeIf(CompletableFuture::isDone);
+        if (activeTasks.isEmpty()) {
+            return;
+        }
+        stop(CrawlResult.Status.FAILED); // No-op unless dispatching failed
+        try {
+            CompletableFuture.allOf(activeTasks.toArray(new CompletableFuture[0]))
+                             .get(DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            System.err.println("Interrupting " + activeTasks.stream().filter(task -> !task.isDone()).count()
+                    + " crawl tasks that did not stop in time");
+            virtualThreadExecutor.shutdownNow();
+        } catch (InterruptedException e) {
+            virtualThreadExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Tasks handle their own errors
+        }
+    }
 
-            // Try to acquire a permit - if none available, we've hit the limit
-            if (!pageLimitSemaphore.tryAcquire()) {
-                return; // Max pages reached
+    // Null when the URL is over its host or depth budget, or its host did not get one of the
+    // maxHosts slots, in which case it is dropped. Scope was already checked when the link was
+    // extracted. The scope's own host is admitted when the policy is compiled.
+    private CrawlBudget.Reservation reserve(SpillingFrontier.Entry entry, ScopePolicy scope) {
+        if (visitedUrls.contains(entry.url())) {
+            return null;
+        }
+        try {
+            String host = UrlUtils.extractDomain(entry.url());
+            CrawlBudget.Reservation reservation = budget.reserve(host, entry.depth());
+            if (reservation != null && !scope.admitHost(host)) {
+                budget.refund(reservation);
+                return null;
             }
+            return reservation;
+        } catch (Exception e) {
+            return null;
+        }
+    }
 
+    private CompletableFuture<Void> crawlPageAsync(SpillingFrontier.Entry entry, CrawlBudget.Reservation reservation,
+                                                   ScopePolicy scope, Predicate<String> followFilter,
+                                                   SpillingFrontier frontier) {
+        String url = entry.url();
+        int linkDepth = entry.depth() + 1;
+
+        return CompletableFuture.runAsync(() -> {
+            boolean committed = false;
+            profiler.started(url);
             try {
-                System.out.println("[" + Thread.currentThread() + "] Crawling: " + url);
+                log("[" + Thread.currentThread() + "] Crawling: " + url);
 
-                String htmlContent = fetchPage(url);
+                CrawledPage page = fetchPage(url);
 
-                if (htmlContent != null) {
+                if (page != null) {
                     visitedUrls.add(url);
+                    budget.commit(reservation);
+                    committed = true;
+                    try (CrawlProfiler.Span ignored = profiler.start(Stage.SINK, url)) {
+                        deliverToSink(page);
+                    }
+
+                    // Pages past maxDepth are still parsed when the graph needs their outlinks
+                    boolean followLinks = budget.allowsDepth(linkDepth);
 
-                    Set<String> links = extractLinks(htmlContent, url);
+                    // Same content was already expanded under another URL, so a duplicate's
+                    // links are only parsed for the graph, which needs its real outlinks
+                    boolean expand = !isDuplicate(page) && followLinks;
+                    Set<String> links = expand || linkGraph != null ? extractLinks(page, scope) : Set.of();
 
-                    for (String link : links) {
-                        if (pageLimitSemaphore.availablePermits() > 0 &&
-                                !visitedUrls.contains(link) &&
-                                UrlUtils.isSameDomain(link, domain)) {
+                    if (linkGraph != null) {
+                        linkGraph.addPage(url, links);
+                    }
 
-                            CompletableFuture<Void> newTask = crawlPageAsync(link, domain, activeTasks);
-                            activeTasks.add(newTask);
+                    // Links are already normalized and in scope, see extractLinks. While slots
+                    // are still in flight they may be refunded, so keep queueing until the
+                    // budget is fully committed.
+                    try (CrawlProfiler.Span ignored = profiler.start(Stage.ENQUEUE, url)) {
+                        for (String link : links) {
+                            if (expand &&
+                                    !budget.isExhausted() &&
+                                    !visitedUrls.contains(link) &&
+                                    followFilter.test(link) &&
+                                    scheduledUrls.add(link)) {
+
+                                profiler.queued(link, url);
+                                prefetchHost(link);
+                                frontier.push(link, linkDepth);
+                            }
                         }
                     }
-                } else {
-                    // Release permit if we didn't successfully process the page
-                    pageLimitSemaphore.release();
                 }
 
-                Thread.sleep(100);
+                try (CrawlProfiler.Span ignored = profiler.start(Stage.PAUSE, url)) {
+                    pause(100);
+                }
 
             } catch (Exception e) {
-                pageLimitSemaphore.release();
-                System.err.println("Error crawling " + url + ": " + e.getMessage());
+                if (committed) {
+                    // The page was fetched and counted; the sink, parsing or the frontier failed
+                    System.err.println("Error processing " + url + ": " + e.getMessage());
+                } else {
+                    if (!isStopping()) {
+                        failedUrls.add(url);
+                    }
+                    System.err.println("Error crawling " + url + ": " + e.getMessage());
+                }
+            } finally {
+                if (!committed) {
+                    // Failed fetches give their slot back
+                    budget.refund(reservation);
+                }
+                profiler.finished(url);
             }
         }, virtualThreadExecutor);
     }
 
+    private void log(String message) {
+        if (config.isVerbose()) {
+            System.out.println(message);
+        }
+    }
+
+    private boolean isDuplicate(CrawledPage page) {
+        if (!config.isDetectDuplicates()) {
+            return false;
+        }
+        String original;
+        try (CrawlProfiler.Span ignored = profiler.start(Stage.DEDUP, page.url())) {
+            original = fingerprintIndex.register(page.url(), ContentFingerprint.of(page.markup()));
+        }
+        if (original != null) {
+            log("Duplicate of " + original + ": " + page.url());
+            return true;
+        }
+        return false;
+    }
+
+    // Null unless captureLinkGraph is set or a graph was passed in
+    public LinkGraph getLinkGraph() {
+        return linkGraph;
+    }
+
+    // Stage timings; only collected when profile is set, see CrawlerConfig
+    public CrawlProfiler getProfiler() {
+        return profiler;
+    }
+
+    public Map<String, List<String>> getDuplicateClusters() {
+        return fingerprintIndex.duplicateClusters();
+    }
+
+    private void deliverToSink(CrawledPage page) {
+        try {
+            pageSink.accept(page);
+        } catch (Exception e) {
+            // A failing sink must not stop the crawl
+            System.err.println("Error storing " + page.url() + ": " + e.getMessage());
+        }
+    }
+
+    // Resolve newly discovered hosts while the task waits for its turn. The DNS span wraps the
+    // resolver call itself, which runs only when the cache has no fresh or in-flight lookup.
+    private void prefetchHost(String url) {
+        try {
+            dnsCache.prefetch(UrlUtils.extractDomain(url), lookup -> virtualThreadExecutor.execute(() -> {
+                try (CrawlProfiler.Span ignored = profiler.start(Stage.DNS, url)) {
+                    lookup.run();
+                }
+            }));
+        } catch (Exception e) {
+            // Unparseable URLs fail later in fetchPage
+        }
+    }
+
+    // Politeness is keyed on the resolved address when configured, so subdomains served by
+    // one origin share its concurrency slots
+    private String politenessKey(String domain) {
+        if (config.isPolitenessByIp()) {
+            try {
+                return dnsCache.primaryAddress(domain);
+            } catch (Exception e) {
+                // Fall back to the host name, the request itself will report the failure
+            }
+        }
+        return domain;
+    }
+
     private Semaphore getSemaphoreForDomain(String domain) {
-        return domainSemaphores.computeIfAbsent(domain,
-                k -> new Semaphore(MAX_CONCURRENT_REQUESTS_PER_DOMAIN));
+        return domainSemaphores.computeIfAbsent(politenessKey(domain),
+                k -> new Semaphore(config.getMaxConcurrentRequestsPerHost()));
     }
 
-    private String fetchPage(String url) throws Exception {
+    private CrawledPage fetchPage(String url) throws Exception {
         String domain = UrlUtils.extractDomain(url);
+
         Semaphore semaphore = getSemaphoreForDomain(domain);
 
-        if (!semaphore.tryAcquire(10, TimeUnit.SECONDS)) {
-            System.err.println("Rate limit timeout for domain: " + domain);
+        boolean acquired;
+        try (CrawlProfiler.Span ignored = profiler.start(Stage.HOST_SLOT, url)) {
+            acquired = acquireHostSlot(semaphore);
+        }
+        if (!acquired) {
+            if (isStopping()) {
+                cancelledFetches.increment();
+            } else {
+                System.err.println("Rate limit timeout for domain: " + domain);
+            }
             return null;
         }
 
@@ -158,63 +476,177 @@ public class WebCrawler implements AutoCloseable{
             HttpRequest request = HttpRequest.newBuilder()
                                              .uri(new URI(url))
                                              .header("User-Agent", "Mozilla/5.0 (compatible; SednaWebCrawler/1.0)")
-                                             .timeout(Duration.ofSeconds(30)) // Reduced from 45
+                                             .timeout(config.getRequestTimeout())
                                              .GET()
                                              .build();
 
-            HttpResponse<String> response = httpClient.send(request,
-                    HttpResponse.BodyHandlers.ofString());
+            long fetchStart = System.nanoTime();
+            HttpResponse<byte[]> response = send(request, url);
+            if (response == null) {
+                cancelledFetches.increment();
+                return null;
+            }
+            long fetchNanos = System.nanoTime() - fetchStart;
 
             int statusCode = response.statusCode();
 
             if (HttpUtils.shouldIgnoreSilently(statusCode)) {
+                // Redirects are not followed, but their URL is alive and must not become a miss
+                if (HttpUtils.isError(statusCode)) {
+                    failedUrls.add(url);
+                }
                 return null;
             }
 
             if (HttpUtils.isSuccess(statusCode)) {
-                return response.body();
+                Charset charset = CharsetDetector.detect(
+                        response.headers().firstValue("Content-Type").orElse(null), response.body());
+                return new CrawledPage(url, statusCode, response.headers(), response.body(), charset, fetchNanos);
             }
 
+            if (HttpUtils.isError(statusCode)) {
+                failedUrls.add(url);
+            }
             System.err.println("HTTP " + statusCode + " for " + url);
             return null;
 
         } finally {
             semaphore.release();
-            Thread.sleep(500); // Increased delay to be more respectful
+            try (CrawlProfiler.Span ignored = profiler.start(Stage.PAUSE, url)) {
+                pause(500); // Increased delay to be more respectful
+            }
+        }
+    }
+
+    // Waits for a politeness slot in short steps so a stopping crawl is not held up
+    private boolean acquireHostSlot(Semaphore semaphore) throws InterruptedException {
+        long giveUpAt = System.nanoTime() + HOST_SLOT_TIMEOUT.toNanos();
+        while (!isStopping()) {
+            if (semaphore.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            if (System.nanoTime() - giveUpAt >= 0) {
+                return false;
+            }
         }
+        return false;
     }
 
-    private Set<String> extractLinks(String htmlContent, String baseUrl) {
+    // Null when the request was cancelled by stop()
+    // Bodies stay bytes: decoding is left to CharsetDetector and the consumers that need text
+    private HttpResponse<byte[]> send(HttpRequest request, String url) throws Exception {
+        // Headers arriving ends the request stage and starts the body download. A stop can land
+        // between the two, so finally may close requestSpan again; spans record only once.
+        CrawlProfiler.Span requestSpan = profiler.start(Stage.REQUEST, url);
+        AtomicReference<CrawlProfiler.Span> bodySpan = new AtomicReference<>();
+        HttpResponse.BodyHandler<byte[]> bodyHandler = responseInfo -> {
+            requestSpan.close();
+            bodySpan.set(profiler.start(Stage.BODY, url));
+            return HttpResponse.BodySubscribers.ofByteArray();
+        };
+
+        CompletableFuture<HttpResponse<byte[]>> pending = httpClient.sendAsync(request, bodyHandler);
+        inFlightRequests.add(pending);
+        try {
+            if (isStopping()) {
+                pending.cancel(true); // stop() ran before the request was registered
+            }
+            return pending.get();
+        } catch (CancellationException e) {
+            return null;
+        } catch (ExecutionException e) {
+            if (isStopping()) {
+                return null; // The aborted exchange fails with "Request cancelled"
+            }
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } finally {
+            inFlightRequests.remove(pending);
+            CrawlProfiler.Span span = bodySpan.get();
+            (span != null ? span : requestSpan).close();
+        }
+    }
+
+    private Set<String> extractLinks(CrawledPage page, ScopePolicy scope) throws Exception {
         Set<String> links = new HashSet<>();
-        Matcher matcher = linkPattern.matcher(htmlContent);
+        LinkExtractor.Extraction extraction;
+        try (CrawlProfiler.Span ignored = profiler.start(Stage.PARSE, page.url())) {
+            extraction = LinkExtractor.extract(page.content(), page.charset());
+        }
 
-        while (matcher.find()) {
-            String link = matcher.group(2);
-            try {
-                String absoluteUrl = UrlUtils.resolveUrl(link, baseUrl);
-                if (absoluteUrl != null && !absoluteUrl.isEmpty()) {
-                    links.add(normalizeUrl(absoluteUrl));
+        // Relative URLs, scope checks and the link cache
+        try (CrawlProfiler.Span ignored = profiler.start(Stage.RESOLVE, page.url())) {
+            // <base href> changes how every relative link on the page resolves
+            String baseUrl = page.url();
+            if (extraction.baseHref() != null) {
+                String resolvedBase = UrlUtils.resolveUrl(extraction.baseHref(), page.url());
+                if (resolvedBase != null && isValidUrl(resolvedBase)) {
+                    baseUrl = resolvedBase;
+                }
+            }
+            String base = baseUrl;
+            addInScope(links, extraction.links(), linkCache.forOrigin(extractOrigin(base)), base, scope);
+
+            // Link response headers resolve against the request URL, not <base>
+            if (page.headers() != null) {
+                LinkCache.Host pageHostCache = linkCache.forOrigin(extractOrigin(page.url()));
+                for (String header : page.headers().allValues("link")) {
+                    addInScope(links, LinkExtractor.fromLinkHeader(header), pageHostCache, page.url(), scope);
                 }
-            } catch (Exception e) {
-                // Skip invalid URLs
             }
         }
 
         return links;
     }
 
+    private void addInScope(Set<String> links, List<LinkExtractor.RawLink> rawLinks, LinkCache.Host hostCache,
+                            String baseUrl, ScopePolicy scope) {
+        for (LinkExtractor.RawLink rawLink : rawLinks) {
+            linkTypeCounts.computeIfAbsent(rawLink.type(), k -> new LongAdder()).increment();
+            if (!rawLink.type().isFollowable()) {
+                continue;
+            }
+            String link = hostCache.resolve(rawLink.href(), href -> resolveInScope(href, baseUrl, scope));
+            if (link != null) {
+                links.add(link);
+            }
+        }
+    }
+
+    // How many links of each type were found, including ones not followed
+    public Map<LinkType, Long> getLinkTypeCounts() {
+        Map<LinkType, Long> counts = new EnumMap<>(LinkType.class);
+        linkTypeCounts.forEach((type, count) -> counts.put(type, count.sum()));
+        return counts;
+    }
+
+    private static String resolveInScope(String href, String baseUrl, ScopePolicy scope) {
+        try {
+            String absoluteUrl = UrlUtils.resolveUrl(href, baseUrl);
+            if (absoluteUrl == null || absoluteUrl.isEmpty()) {
+                return null;
+            }
+            String normalized = normalizeUrl(absoluteUrl);
+            return scope.isInScope(normalized) ? normalized : null;
+        } catch (Exception e) {
+            // Skip invalid URLs
+            return null;
+        }
+    }
+
+    // Stops a crawl still running on another thread, waits for its tasks and releases the
+    // client's connections
     @Override
     public void close() {
-        if (virtualThreadExecutor != null && !virtualThreadExecutor.isShutdown()) {
-            virtualThreadExecutor.shutdown();
-            try {
-                if (!virtualThreadExecutor.awaitTermination(100, TimeUnit.MILLISECONDS)) {
-                    virtualThreadExecutor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
+        stop(CrawlResult.Status.CANCELLED);
+        virtualThreadExecutor.shutdown();
+        try {
+            if (!virtualThreadExecutor.awaitTermination(DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
                 virtualThreadExecutor.shutdownNow();
-                Thread.currentThread().interrupt();
             }
+        } catch (InterruptedException e) {
+            virtualThreadExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
         }
+        httpClient.shutdownNow();
     }
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.sedna.crawler.budget;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Page budget shared by all crawl tasks. A slot is reserved before a fetch starts and is then
+// either committed (the page was kept) or refunded (the fetch failed), so fetches in flight
+// already count against the limits and the crawl can neither overshoot nor stop short of them.
+// Counters are updated with compare-and-set loops, nothing blocks.
+public class CrawlBudget {
+    // For maxPagesPerHost and maxPagesPerDepth
+    public static final int NO_LIMIT = 0;
+    // For maxDepth
+    public static final int NO_DEPTH_LIMIT = -1;
+
+    // Handed out by reserve(), pass it to exactly one of commit() or refund()
+    public record Reservation(String host, int depth) {
+    }
+
+    private final int maxPages;
+    private final int maxPagesPerHost;
+    private final int maxDepth;
+    private final int maxPagesPerDepth;
+    // Reserved plus committed slots
+    private final AtomicInteger used = new AtomicInteger();
+    private final AtomicInteger committed = new AtomicInteger();
+    private final ConcurrentHashMap<String, AtomicInteger> usedByHost = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, AtomicInteger> usedByDepth = new ConcurrentHashMap<>();
+
+    public CrawlBudget(int maxPages, int maxPagesPerHost, int maxDepth, int maxPagesPerDepth) {
+        if (maxPages <= 0) {
+            throw new IllegalArgumentException("maxPages must be positive");
+        }
+        if (maxPagesPerHost < 0 || maxPagesPerDepth < 0 || maxDepth < NO_DEPTH_LIMIT) {
+            throw new IllegalArgumentException("Budget limits must not be negative");
+        }
+        this.maxPages = maxPages;
+        this.maxPagesPerHost = maxPagesPerHost;
+        this.maxDepth = maxDepth;
+        this.maxPagesPerDepth = maxPagesPerDepth;
+    }
+
+    public CrawlBudget(int maxPages) {
+        this(maxPages, NO_LIMIT, NO_DEPTH_LIMIT, NO_LIMIT);
+    }
+
+    // Claims one slot from every applicable limit, or returns null (claiming nothing) when any
+    // of them is used up
+    public Reservation reserve(String host, int depth) {
+        if (!allowsDepth(depth)) {
+            return null;
+        }
+        if (!tryIncrement(used, maxPages)) {
+            return null;
+        }
+        if (maxPagesPerHost != NO_LIMIT &&
+                !tryIncrement(usedByHost.computeIfAbsent(host, k -> new AtomicInteger()), maxPagesPerHost)) {
+            used.decrementAndGet();
+            return null;
+        }
+        if (maxPagesPerDepth != NO_LIMIT &&
+                !tryIncrement(usedByDepth.computeIfAbsent(depth, k -> new AtomicInteger()), maxPagesPerDepth)) {
+            if (maxPagesPerHost != NO_LIMIT) {
+                usedByHost.get(host).decrementAndGet();
+            }
+            used.decrementAndGet();
+            return null;
+        }
+        return new Reservation(host, depth);
+    }
+
+    public void commit(Reservation reservation) {
+        committed.incrementAndGet();
+    }
+
+    // Returns the slot so another URL can use it
+    public void refund(Reservation reservation) {
+        if (maxPagesPerDepth != NO_LIMIT) {
+            usedByDepth.get(reservation.depth()).decrementAndGet();
+        }
+        if (maxPagesPerHost != NO_LIMIT) {
+            usedByHost.get(reservation.host()).decrementAndGet();
+        }
+        used.decrementAndGet();
+    }
+
+    // False once every slot is reserved or committed; starting more work would only be wasted
+    public boolean hasCapacity() {
+        return used.get() < maxPages;
+    }
+
+    // True once every slot is committed; no refund can reopen the budget after this
+    public boolean isExhausted() {
+        return committed.get() >= maxPages;
+    }
+
+    public boolean allowsDepth(int depth) {
+        return maxDepth == NO_DEPTH_LIMIT || depth <= maxDepth;
+    }
+
+    public int committed() {
+        return committed.get();
+    }
+
+    // Slots held by fetches that have not finished yet
+    public int inFlight() {
+        return used.get() - committed.get();
+    }
+
+    private static boolean tryIncrement(AtomicInteger counter, int limit) {
+        while (true) {
+            int current = counter.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.sedna.crawler.dedup;
+
+import com.sedna.crawler.utils.HashUtils;
+
+// Exact hash of the raw body plus a 64-bit SimHash of the visible text (word 3-shingles),
+// so pages differing only in markup, ads or timestamps land within a few bits of each other.
+// Script and style contents are not visible text; left in, a shared template's JS and CSS would
+// outweigh the page's own words.
+public record ContentFingerprint(long exactHash, long simHash, int tokenCount) {
+    private static final int SHINGLE_SIZE = 3;
+
+    // body may be a raw byte view (see CrawledPage.markup()); the hashes then depend on the bytes
+    // rather than the decoded text, which is all duplicate detection needs
+    public static ContentFingerprint of(CharSequence body) {
+        long exactHash = HashUtils.hash64(body);
+
+        int[] weights = new int[64];
+        long[] window = new long[SHINGLE_SIZE];
+        int tokenCount = 0;
+        boolean inTag = false;
+        int tagStart = 0;
+        long tokenHash = 0;
+        int tokenLength = 0;
+
+        for (int i = 0; i <= body.length(); i++) {
+            char c = i < body.length() ? body.charAt(i) : ' ';
+            if (inTag) {
+                if (c == '>') {
+                    inTag = false;
+                    String rawTextElement = body.charAt(i - 1) == '/' ? null : rawTextElement(body, tagStart);
+                    if (rawTextElement != null) {
+                        // Resume at the closing tag, which the tag scanner then skips
+                        int end = indexOfIgnoreCase(body, "</" + rawTextElement, i + 1);
+                        i = (end < 0 ? body.length() : end) - 1;
+                    }
+                }
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                tokenHash = (tokenHash ^ Character.toLowerCase(c)) * 0x100000001b3L;
+                tokenLength++;
+                continue;
+            }
+            if (tokenLength > 0) {
+                window[tokenCount % SHINGLE_SIZE] = tokenHash;
+                tokenCount++;
+                if (tokenCount >= SHINGLE_SIZE) {
+                    addShingle(weights, window);
+                }
+                tokenHash = 0;
+                tokenLength = 0;
+            }
+            if (c == '<') {
+                inTag = true;
+                tagStart = i + 1;
+            }
+        }
+
+        // Pages shorter than one shingle still get a fingerprint from their tokens
+        if (tokenCount > 0 && tokenCount < SHINGLE_SIZE) {
+            addShingle(weights, window);
+        }
+
+        long simHash = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                simHash |= 1L << bit;
+            }
+        }
+        return new ContentFingerprint(exactHash, simHash, tokenCount);
+    }
+
+    // "script" or "style" when the tag starting at tagStart (just after '<') opens one, else null
+    private static String rawTextElement(CharSequence body, int tagStart) {
+        for (String name : new String[]{"script", "style"}) {
+            int end = tagStart + name.length();
+            if (regionMatchesIgnoreCase(body, tagStart, name)
+                    && (end >= body.length() || !Character.isLetterOrDigit(body.charAt(end)))) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    private static int indexOfIgnoreCase(CharSequence body, String target, int from) {
+        for (int i = from; i <= body.length() - target.length(); i++) {
+            if (regionMatchesIgnoreCase(body, i, target)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean regionMatchesIgnoreCase(CharSequence body, int offset, String target) {
+        if (offset + target.length() > body.length()) {
+            return false;
+        }
+        for (int i = 0; i < target.length(); i++) {
+            if (Character.toLowerCase(body.charAt(offset + i)) != target.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void addShingle(int[] weights, long[] window) {
+        long shingle = 0;
+        for (long token : window) {
+            // Order-independent within the window is fine for near-duplicate detection
+            shingle += HashUtils.mix64(token);
+        }
+        shingle = HashUtils.mix64(shingle);
+        for (int bit = 0; bit < 64; bit++) {
+            weights[bit] += ((shingle >>> bit) & 1) == 1 ? 1 : -1;
+        }
+    }
+
+    public int distance(ContentFingerprint other) {
+        return Long.bitCount(simHash ^ other.simHash);
+    }
+}
@@ -0,0 +1,105 @@
+package com.sedna.crawler.dedup;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Concurrent index of page fingerprints. Exact duplicates are found with one map lookup; near
+// duplicates by splitting the SimHash into four 16-bit bands, since two hashes within three bits
+// must agree on at least one whole band. Only pages in the same band bucket are compared.
+public class FingerprintIndex {
+    private static final int BANDS = 4;
+    private static final int BAND_BITS = 16;
+    private static final int DEFAULT_MAX_DISTANCE = 3;
+    // Short pages have too few shingles for a meaningful SimHash
+    private static final int DEFAULT_MIN_NEAR_DUPLICATE_TOKENS = 50;
+
+    private record Entry(String url, long simHash) {
+    }
+
+    private final ConcurrentHashMap<Long, String> exact = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, List<Entry>> bands = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> clusters = new ConcurrentHashMap<>();
+    private final int maxDistance;
+    private final int minNearDuplicateTokens;
+
+    public FingerprintIndex(int maxDistance, int minNearDuplicateTokens) {
+        if (maxDistance < 0 || maxDistance >= BANDS) {
+            throw new IllegalArgumentException("maxDistance must be between 0 and " + (BANDS - 1));
+        }
+        this.maxDistance = maxDistance;
+        this.minNearDuplicateTokens = minNearDuplicateTokens;
+    }
+
+    public FingerprintIndex() {
+        this(DEFAULT_MAX_DISTANCE, DEFAULT_MIN_NEAR_DUPLICATE_TOKENS);
+    }
+
+    // Returns the URL this page duplicates, or null if it is the first of its kind.
+    // Two near-identical pages registered at the same moment may both be kept as originals.
+    public String register(String url, ContentFingerprint fingerprint) {
+        String original = exact.putIfAbsent(fingerprint.exactHash(), url);
+        if (original != null && !original.equals(url)) {
+            addToCluster(original, url);
+            return original;
+        }
+
+        if (fingerprint.tokenCount() < minNearDuplicateTokens) {
+            return null;
+        }
+
+        long simHash = fingerprint.simHash();
+        for (int band = 0; band < BANDS; band++) {
+            List<Entry> bucket = bands.get(bandKey(band, simHash));
+            if (bucket == null) {
+                continue;
+            }
+            synchronized (bucket) {
+                for (Entry entry : bucket) {
+                    if (Long.bitCount(entry.simHash() ^ simHash) <= maxDistance && !entry.url().equals(url)) {
+                        // Later exact copies of this page then group under the original too
+                        exact.replace(fingerprint.exactHash(), url, entry.url());
+                        addToCluster(entry.url(), url);
+                        return entry.url();
+                    }
+                }
+            }
+        }
+
+        Entry entry = new Entry(url, simHash);
+        for (int band = 0; band < BANDS; band++) {
+            List<Entry> bucket = bands.computeIfAbsent(bandKey(band, simHash), k -> new ArrayList<>(1));
+            synchronized (bucket) {
+                bucket.add(entry);
+            }
+        }
+        return null;
+    }
+
+    private static int bandKey(int band, long simHash) {
+        int bits = (int) (simHash >>> (band * BAND_BITS)) & ((1 << BAND_BITS) - 1);
+        return band << BAND_BITS | bits;
+    }
+
+    private void addToCluster(String original, String duplicate) {
+        clusters.computeIfAbsent(original, k -> ConcurrentHashMap.newKeySet()).add(duplicate);
+    }
+
+    // Original URL mapped to the URLs that served the same or nearly the same content
+    public Map<String, List<String>> duplicateClusters() {
+        Map<String, List<String>> snapshot = new TreeMap<>();
+        clusters.forEach((original, duplicates) -> {
+            List<String> sorted = new ArrayList<>(duplicates);
+            Collections.sort(sorted);
+            snapshot.put(original, sorted);
+        });
+        return snapshot;
+    }
+
+    public int duplicateCount() {
+        int count = 0;
+        for (Set<String> duplicates : clusters.values()) {
+            count += duplicates.size();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,114 @@
+package com.sedna.crawler.dns;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongSupplier;
+
+// Caches host lookups with a TTL, including failures (for a shorter TTL). Concurrent lookups of
+// the same host share one resolver call. Prefetching with the system resolver also warms the
+// JDK address cache that HttpClient resolves through.
+public class DnsCache {
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+    private static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofSeconds(30);
+    private static final int MAX_ENTRIES = 65_536;
+
+    private record Entry(InetAddress[] addresses, UnknownHostException failure, long expiresAtNanos) {
+    }
+
+    private final ConcurrentHashMap<String, CompletableFuture<Entry>> entries = new ConcurrentHashMap<>();
+    private final HostResolver resolver;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final LongSupplier nanoClock;
+
+    public DnsCache(HostResolver resolver, Duration ttl, Duration negativeTtl, LongSupplier nanoClock) {
+        this.resolver = resolver;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public DnsCache(HostResolver resolver, Duration ttl) {
+        this(resolver, ttl, DEFAULT_NEGATIVE_TTL, System::nanoTime);
+    }
+
+    public DnsCache() {
+        this(HostResolver.SYSTEM, DEFAULT_TTL);
+    }
+
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        Entry entry = lookup(host, null).join();
+        if (entry.failure() != null) {
+            throw entry.failure();
+        }
+        return entry.addresses();
+    }
+
+    // Starts a background lookup unless a fresh or in-flight one exists
+    public void prefetch(String host, Executor executor) {
+        lookup(host, executor);
+    }
+
+    // First resolved address, used to group hosts that share a server
+    public String primaryAddress(String host) throws UnknownHostException {
+        return resolve(host)[0].getHostAddress();
+    }
+
+    private CompletableFuture<Entry> lookup(String host, Executor executor) {
+        while (true) {
+            CompletableFuture<Entry> current = entries.get(host);
+            if (current != null && !(current.isDone() && isExpired(current.join()))) {
+                return current;
+            }
+
+            CompletableFuture<Entry> fresh = new CompletableFuture<>();
+            boolean claimed = current == null
+                    ? entries.putIfAbsent(host, fresh) == null
+                    : entries.replace(host, current, fresh);
+            if (!claimed) {
+                continue; // Another thread started a lookup first
+            }
+
+            if (current == null && entries.size() > MAX_ENTRIES) {
+                entries.clear();
+                entries.put(host, fresh);
+            }
+
+            if (executor == null) {
+                fresh.complete(query(host));
+            } else {
+                try {
+                    executor.execute(() -> fresh.complete(query(host)));
+                } catch (RejectedExecutionException e) {
+                    // Executor is shutting down, resolve here so waiters are not left hanging
+                    fresh.complete(query(host));
+                }
+            }
+            return fresh;
+        }
+    }
+
+    private Entry query(String host) {
+        try {
+            InetAddress[] addresses = resolver.resolve(host);
+            if (addresses == null || addresses.length == 0) {
+                throw new UnknownHostException(host + ": no addresses");
+            }
+            return new Entry(addresses, null, nanoClock.getAsLong() + ttlNanos);
+        } catch (UnknownHostException e) {
+            return new Entry(null, e, nanoClock.getAsLong() + negativeTtlNanos);
+        } catch (RuntimeException e) {
+            UnknownHostException failure = new UnknownHostException(host + ": " + e.getMessage());
+            return new Entry(null, failure, nanoClock.getAsLong() + negativeTtlNanos);
+        }
+    }
+
+    private boolean isExpired(Entry entry) {
+        return nanoClock.getAsLong() - entry.expiresAtNanos() >= 0;
+    }
+}
@@ -0,0 +1,11 @@
+package com.sedna.crawler.dns;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+@FunctionalInterface
+public interface HostResolver {
+    HostResolver SYSTEM = InetAddress::getAllByName;
+
+    InetAddress[] resolve(String host) throws UnknownHostException;
+}
@@ -0,0 +1,97 @@
+package com.sedna.crawler.frontier;
+
+import com.sedna.crawler.utils.HashUtils;
+
+// URLs a crawl has already queued, kept as 64-bit hashes in open-addressing long arrays: 8 to 16
+// bytes a URL instead of the String and map node (well over 100 bytes for a typical URL), so the
+// heap stays flat while the frontier itself spills to disk. A URL whose hash collides on all 64
+// bits with one already added is taken as seen; at 100 million URLs the chance of any such
+// collision is below 1 in 3000. Striped by the top hash bits so crawl tasks rarely contend.
+public class SeenUrlSet {
+    private static final int STRIPE_BITS = 6;
+    private static final int INITIAL_STRIPE_CAPACITY = 64;
+    // 0 marks an empty slot, so a hash of 0 is stored as this instead
+    private static final long ZERO_HASH = 1;
+
+    private static final class Stripe {
+        private long[] slots = new long[INITIAL_STRIPE_CAPACITY];
+        private int size;
+
+        synchronized boolean add(long hash) {
+            int index = find(slots, hash);
+            if (slots[index] == hash) {
+                return false;
+            }
+            slots[index] = hash;
+            // Grow at 3/4 load so linear probe runs stay short
+            if (++size * 4L >= slots.length * 3L) {
+                grow();
+            }
+            return true;
+        }
+
+        synchronized boolean contains(long hash) {
+            return slots[find(slots, hash)] == hash;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        private void grow() {
+            long[] grown = new long[slots.length * 2];
+            for (long hash : slots) {
+                if (hash != 0) {
+                    grown[find(grown, hash)] = hash;
+                }
+            }
+            slots = grown;
+        }
+
+        // Slot holding hash, or the empty slot where it belongs
+        private static int find(long[] slots, long hash) {
+            int mask = slots.length - 1;
+            int index = (int) hash & mask;
+            while (slots[index] != 0 && slots[index] != hash) {
+                index = (index + 1) & mask;
+            }
+            return index;
+        }
+    }
+
+    private final Stripe[] stripes = new Stripe[1 << STRIPE_BITS];
+
+    public SeenUrlSet() {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    // True when url was not in the set yet
+    public boolean add(String url) {
+        long hash = hash(url);
+        return stripe(hash).add(hash);
+    }
+
+    public boolean contains(String url) {
+        long hash = hash(url);
+        return stripe(hash).contains(hash);
+    }
+
+    public long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private Stripe stripe(long hash) {
+        return stripes[(int) (hash >>> (64 - STRIPE_BITS))];
+    }
+
+    private static long hash(String url) {
+        long hash = HashUtils.hash64(url);
+        return hash == 0 ? ZERO_HASH : hash;
+    }
+}
@@ -0,0 +1,147 @@
+package com.sedna.crawler.frontier;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// FIFO queue of URLs waiting to be fetched, with a fixed in-memory window. Once the window is
+// full, new URLs collect in a tail buffer that is written out as a gzip segment file whenever it
+// fills up. Segments are read back, oldest first, as the head drains, so order is preserved and
+// at most the window plus one segment is held on the heap.
+public class SpillingFrontier implements AutoCloseable {
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    // depth is the number of links followed from a seed
+    public record Entry(String url, int depth) {
+    }
+
+    private final int memoryWindow;
+    private final int segmentSize;
+    private final Path spillParent;
+    private final ArrayDeque<Entry> head = new ArrayDeque<>();
+    private final List<Entry> tail = new ArrayList<>();
+    private final ArrayDeque<Path> segments = new ArrayDeque<>();
+    private Path spillDirectory;
+    private long spilledUrls;
+    private int nextSegment;
+    private long size;
+
+    // spillParent is where the segment directory is created, null for the system temp directory
+    public SpillingFrontier(int memoryWindow, Path spillParent) {
+        if (memoryWindow < 2) {
+            throw new IllegalArgumentException("memoryWindow must be at least 2");
+        }
+        this.memoryWindow = memoryWindow;
+        this.segmentSize = memoryWindow / 2;
+        this.spillParent = spillParent;
+    }
+
+    public synchronized void push(String url, int depth) throws IOException {
+        Entry entry = new Entry(url, depth);
+        if (segments.isEmpty() && tail.isEmpty() && head.size() < memoryWindow) {
+            head.addLast(entry);
+        } else {
+            tail.add(entry);
+            if (tail.size() >= segmentSize) {
+                spill();
+            }
+        }
+        size++;
+    }
+
+    // Next entry in FIFO order, or null when empty
+    public synchronized Entry poll() throws IOException {
+        if (head.isEmpty()) {
+            refill();
+        }
+        Entry entry = head.pollFirst();
+        if (entry != null) {
+            size--;
+        }
+        return entry;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    public synchronized long size() {
+        return size;
+    }
+
+    // Total URLs that went through disk so far
+    public synchronized long spilledCount() {
+        return spilledUrls;
+    }
+
+    public synchronized int inMemoryCount() {
+        return head.size() + tail.size();
+    }
+
+    private void refill() throws IOException {
+        Path segment = segments.pollFirst();
+        if (segment != null) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    new GZIPInputStream(Files.newInputStream(segment))))) {
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    int depth = in.readInt();
+                    byte[] bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                    head.addLast(new Entry(new String(bytes, StandardCharsets.UTF_8), depth));
+                }
+            }
+            Files.deleteIfExists(segment);
+        } else if (!tail.isEmpty()) {
+            head.addAll(tail);
+            tail.clear();
+        }
+    }
+
+    private void spill() throws IOException {
+        if (spillDirectory == null) {
+            spillDirectory = spillParent != null
+                    ? Files.createTempDirectory(Files.createDirectories(spillParent), "frontier-")
+                    : Files.createTempDirectory("frontier-");
+        }
+
+        Path segment = spillDirectory.resolve(SEGMENT_PREFIX + nextSegment++);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(segment))))) {
+            out.writeInt(tail.size());
+            for (Entry entry : tail) {
+                byte[] bytes = entry.url().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(entry.depth());
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+        segments.addLast(segment);
+        spilledUrls += tail.size();
+        tail.clear();
+    }
+
+    @Override
+    public synchronized void close() {
+        head.clear();
+        tail.clear();
+        size = 0;
+        try {
+            for (Path segment : segments) {
+                Files.deleteIfExists(segment);
+            }
+            segments.clear();
+            if (spillDirectory != null) {
+                Files.deleteIfExists(spillDirectory);
+            }
+        } catch (IOException e) {
+            System.err.println("Error removing frontier segments: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.sedna.crawler.graph;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+// Outlinks of every crawled page. URLs are interned to dense int ids and each page's targets are
+// kept sorted, de-duplicated and appended to one shared byte pool as varint-encoded gaps, so a
+// typical edge costs one or two bytes plus eight bytes of index per page. Pages only linked to
+// are nodes without an adjacency list.
+public class LinkGraph {
+    // Agreed with readers of graph.csr, bump when the layout changes
+    private static final int CSR_MAGIC = 0x43535231; // "CSR1"
+    // adjacencyStart and adjacencyLength entries
+    private static final int INDEX_BYTES_PER_PAGE = 8;
+    // Per node, with compressed oops: HashMap node (32), its table slot at 0.75 load (about 6),
+    // the boxed id (16) and the urls slot (4). The String itself is counted by stringBytes.
+    private static final int URL_TABLE_BYTES_PER_NODE = 58;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] urls = new String[1024];
+    // Where each node's list lives in pool, length -1 for nodes that were not crawled
+    private int[] adjacencyStart = new int[1024];
+    private int[] adjacencyLength = filled(1024);
+    private byte[] pool = new byte[16 * 1024];
+    private int poolSize;
+    private int pageCount;
+    private long edgeCount;
+    // Estimated heap held by the interned URL Strings
+    private long urlStringBytes;
+
+    // Compressed-sparse-row form: targets of node i are targets[offsets[i]] until offsets[i + 1]
+    public record Csr(String[] urls, long[] offsets, int[] targets) {
+    }
+
+    // Records the page and its outlinks; a page seen again keeps its first list
+    public synchronized void addPage(String url, Collection<String> outlinks) {
+        int source = intern(url);
+        if (adjacencyLength[source] >= 0) {
+            return;
+        }
+
+        int[] targets = new int[outlinks.size()];
+        int count = 0;
+        for (String outlink : outlinks) {
+            targets[count++] = intern(outlink);
+        }
+        Arrays.sort(targets, 0, count);
+
+        int start = poolSize;
+        int previous = 0;
+        int edges = 0;
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && targets[i] == previous) {
+                continue;
+            }
+            writeVarint(targets[i] - previous);
+            previous = targets[i];
+            edges++;
+        }
+
+        adjacencyStart[source] = start;
+        adjacencyLength[source] = poolSize - start;
+        pageCount++;
+        edgeCount += edges;
+    }
+
+    public synchronized int nodeCount() {
+        return ids.size();
+    }
+
+    public synchronized long edgeCount() {
+        return edgeCount;
+    }
+
+    // Estimated heap for the whole graph per million edges: adjacency plus the URL intern table,
+    // which on most crawls is the larger part
+    public synchronized double bytesPerMillionEdges() {
+        return edgeCount == 0 ? 0 : (adjacencyBytes() + urlTableBytes()) * 1_000_000.0 / edgeCount;
+    }
+
+    // Adjacency storage alone per million edges
+    public synchronized double adjacencyBytesPerMillionEdges() {
+        return edgeCount == 0 ? 0 : adjacencyBytes() * 1_000_000.0 / edgeCount;
+    }
+
+    // Estimated heap held by the URL to id table and the interned URLs; grows with nodes, not edges
+    public synchronized long urlTableBytes() {
+        return (long) ids.size() * URL_TABLE_BYTES_PER_NODE + urlStringBytes;
+    }
+
+    private long adjacencyBytes() {
+        return poolSize + (long) pageCount * INDEX_BYTES_PER_PAGE;
+    }
+
+    // Id of url, or -1 when it is not in the graph
+    public synchronized int idOf(String url) {
+        Integer id = ids.get(url);
+        return id != null ? id : -1;
+    }
+
+    public synchronized String urlOf(int id) {
+        return urls[id];
+    }
+
+    public synchronized int[] successors(int id) {
+        int length = id < ids.size() ? adjacencyLength[id] : -1;
+        if (length <= 0) {
+            return new int[0];
+        }
+        int[] targets = new int[length];
+        int count = 0;
+        int value = 0;
+        int shift = 0;
+        int previous = 0;
+        for (int i = adjacencyStart[id], end = adjacencyStart[id] + length; i < end; i++) {
+            byte b = pool[i];
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                previous += value;
+                targets[count++] = previous;
+                value = 0;
+                shift = 0;
+            } else {
+                shift += 7;
+            }
+        }
+        return Arrays.copyOf(targets, count);
+    }
+
+    public synchronized Csr toCsr() {
+        int nodes = ids.size();
+        long[] offsets = new long[nodes + 1];
+        int[] targets = new int[Math.toIntExact(edgeCount)];
+        int position = 0;
+        for (int id = 0; id < nodes; id++) {
+            offsets[id] = position;
+            for (int target : successors(id)) {
+                targets[position++] = target;
+            }
+        }
+        offsets[nodes] = position;
+        return new Csr(Arrays.copyOf(urls, nodes), offsets, targets);
+    }
+
+    // nodes.tsv holds "id<TAB>url", edges.tsv "source<TAB>target" by id
+    public synchronized void writeEdgeList(Path nodesFile, Path edgesFile) throws IOException {
+        try (BufferedWriter nodes = Files.newBufferedWriter(nodesFile, StandardCharsets.UTF_8)) {
+            for (int id = 0; id < ids.size(); id++) {
+                nodes.write(id + "\t" + urls[id]);
+                nodes.newLine();
+            }
+        }
+        try (BufferedWriter edges = Files.newBufferedWriter(edgesFile, StandardCharsets.UTF_8)) {
+            for (int id = 0; id < ids.size(); id++) {
+                for (int target : successors(id)) {
+                    edges.write(id + "\t" + target);
+                    edges.newLine();
+                }
+            }
+        }
+    }
+
+    // Big-endian: magic, int nodes, long edges, long[nodes + 1] offsets, int[edges] targets,
+    // then each URL as a length-prefixed UTF-8 string
+    public synchronized void writeCsr(Path file) throws IOException {
+        Csr csr = toCsr();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(CSR_MAGIC);
+            out.writeInt(csr.urls().length);
+            out.writeLong(csr.targets().length);
+            for (long offset : csr.offsets()) {
+                out.writeLong(offset);
+            }
+            for (int target : csr.targets()) {
+                out.writeInt(target);
+            }
+            for (String url : csr.urls()) {
+                byte[] bytes = url.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+
+    public static Csr readCsr(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != CSR_MAGIC) {
+                throw new IOException("Not a link graph CSR file: " + file);
+            }
+            int nodes = in.readInt();
+            int edges = Math.toIntExact(in.readLong());
+            long[] offsets = new long[nodes + 1];
+            for (int i = 0; i <= nodes; i++) {
+                offsets[i] = in.readLong();
+            }
+            int[] targets = new int[edges];
+            for (int i = 0; i < edges; i++) {
+                targets[i] = in.readInt();
+            }
+            String[] urls = new String[nodes];
+            for (int i = 0; i < nodes; i++) {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                urls[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            return new Csr(urls, offsets, targets);
+        }
+    }
+
+    private int intern(String url) {
+        Integer existing = ids.get(url);
+        if (existing != null) {
+            return existing;
+        }
+        int id = ids.size();
+        if (id == urls.length) {
+            urls = Arrays.copyOf(urls, id * 2);
+            adjacencyStart = Arrays.copyOf(adjacencyStart, id * 2);
+            adjacencyLength = Arrays.copyOf(adjacencyLength, id * 2);
+            Arrays.fill(adjacencyLength, id, id * 2, -1);
+        }
+        ids.put(url, id);
+        urls[id] = url;
+        urlStringBytes += stringBytes(url);
+        return id;
+    }
+
+    // String object (24) plus its byte array (16 + content, 8-byte aligned), one byte a char when
+    // the String is Latin-1
+    private static long stringBytes(String value) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xff) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return 24 + ((16L + (long) value.length() * bytesPerChar + 7) & ~7L);
+    }
+
+    private void writeVarint(int value) {
+        if (poolSize + 5 > pool.length) {
+            pool = Arrays.copyOf(pool, Math.max(pool.length * 2, poolSize + 5));
+        }
+        while ((value & ~0x7f) != 0) {
+            pool[poolSize++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        pool[poolSize++] = (byte) value;
+    }
+
+    private static int[] filled(int size) {
+        int[] array = new int[size];
+        Arrays.fill(array, -1);
+        return array;
+    }
+}
@@ -0,0 +1,198 @@
+package com.sedna.crawler.profile;
+
+import com.sedna.crawler.utils.LatencyHistogram;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Times the stages of each page. Stages are always reported as JFR events while a recording runs;
+// when enabled, the profiler also keeps a histogram per stage and a trace per page, from which
+// report() derives a latency breakdown and the critical path: the chain of pages, from a seed to
+// the page that finished last, whose stages and queue waits set the length of the crawl.
+public class CrawlProfiler {
+    private static final Span NOOP = new Span(null, null, null, 0, null);
+    private static final CrawlStageEvent PROBE = new CrawlStageEvent();
+
+    private final boolean enabled;
+    private final EnumMap<Stage, LatencyHistogram> histograms = new EnumMap<>(Stage.class);
+    private final ConcurrentHashMap<String, PageTrace> traces = new ConcurrentHashMap<>();
+    private final long startNanos = System.nanoTime();
+
+    private static final class PageTrace {
+        final String parentUrl;
+        final long queuedAtNanos;
+        final AtomicLongArray stageNanos = new AtomicLongArray(Stage.values().length);
+        volatile long finishedAtNanos;
+
+        PageTrace(String parentUrl, long queuedAtNanos) {
+            this.parentUrl = parentUrl;
+            this.queuedAtNanos = queuedAtNanos;
+        }
+    }
+
+    // A stage in progress, ended by close(); closing again does nothing
+    public static final class Span implements AutoCloseable {
+        private final CrawlProfiler profiler;
+        private final Stage stage;
+        private final String url;
+        private final long startNanos;
+        private final CrawlStageEvent event;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Span(CrawlProfiler profiler, Stage stage, String url, long startNanos, CrawlStageEvent event) {
+            this.profiler = profiler;
+            this.stage = stage;
+            this.url = url;
+            this.startNanos = startNanos;
+            this.event = event;
+        }
+
+        @Override
+        public void close() {
+            if (profiler == null || !closed.compareAndSet(false, true)) {
+                return;
+            }
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.stage = stage.label();
+                    event.url = url;
+                    event.commit();
+                }
+            }
+            if (profiler.enabled) {
+                profiler.record(stage, url, System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    public CrawlProfiler(boolean enabled) {
+        this.enabled = enabled;
+        for (Stage stage : Stage.values()) {
+            histograms.put(stage, new LatencyHistogram());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Span start(Stage stage, String url) {
+        boolean recording = PROBE.isEnabled();
+        if (!enabled && !recording) {
+            return NOOP;
+        }
+        CrawlStageEvent event = null;
+        if (recording) {
+            event = new CrawlStageEvent();
+            event.begin();
+        }
+        return new Span(this, stage, url, System.nanoTime(), event);
+    }
+
+    // parentUrl is the page the link was found on, null for seeds
+    public void queued(String url, String parentUrl) {
+        if (enabled) {
+            traces.putIfAbsent(url, new PageTrace(parentUrl, System.nanoTime()));
+        }
+    }
+
+    public void started(String url) {
+        PageTrace trace = enabled ? traces.get(url) : null;
+        if (trace != null) {
+            record(Stage.QUEUED, url, System.nanoTime() - trace.queuedAtNanos);
+        }
+    }
+
+    public void finished(String url) {
+        PageTrace trace = enabled ? traces.get(url) : null;
+        if (trace != null) {
+            trace.finishedAtNanos = System.nanoTime();
+        }
+    }
+
+    public LatencyHistogram histogram(Stage stage) {
+        return histograms.get(stage);
+    }
+
+    private void record(Stage stage, String url, long nanos) {
+        histograms.get(stage).recordNanos(nanos);
+        PageTrace trace = traces.get(url);
+        if (trace != null) {
+            trace.stageNanos.addAndGet(stage.ordinal(), nanos);
+        }
+    }
+
+    // Pages from a seed to the last page to finish, seed first; empty when nothing was traced
+    public List<String> criticalPath() {
+        String last = null;
+        long lastFinish = 0;
+        for (Map.Entry<String, PageTrace> entry : traces.entrySet()) {
+            long finish = entry.getValue().finishedAtNanos;
+            if (finish != 0 && (last == null || finish - lastFinish > 0)) {
+                last = entry.getKey();
+                lastFinish = finish;
+            }
+        }
+
+        LinkedList<String> path = new LinkedList<>();
+        Set<String> seen = new HashSet<>();
+        String url = last;
+        while (url != null && seen.add(url)) {
+            path.addFirst(url);
+            PageTrace trace = traces.get(url);
+            url = trace != null ? trace.parentUrl : null;
+        }
+        return path;
+    }
+
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        double wallSeconds = (System.nanoTime() - startNanos) / 1e9;
+        long totalMicros = 0;
+        for (Stage stage : Stage.values()) {
+            totalMicros += histograms.get(stage).totalMicros();
+        }
+
+        report.append(String.format(Locale.ROOT, "Crawl profile, %.2f s wall clock%n", wallSeconds));
+        report.append(String.format(Locale.ROOT, "%-18s %8s %10s %9s %9s %9s %6s%n",
+                "stage", "count", "total s", "mean ms", "p50 ms", "p99 ms", "share"));
+        for (Stage stage : Stage.values()) {
+            LatencyHistogram histogram = histograms.get(stage);
+            if (histogram.count() == 0) {
+                continue;
+            }
+            report.append(String.format(Locale.ROOT, "%-18s %8d %10.2f %9.1f %9.1f %9.1f %5.1f%%%n",
+                    stage.label(), histogram.count(), histogram.totalMicros() / 1e6, histogram.meanMillis(),
+                    histogram.percentileMillis(50), histogram.percentileMillis(99),
+                    100.0 * histogram.totalMicros() / Math.max(totalMicros, 1)));
+        }
+
+        List<String> path = criticalPath();
+        if (!path.isEmpty()) {
+            long[] pathNanos = new long[Stage.values().length];
+            long pathTotal = 0;
+            for (String url : path) {
+                PageTrace trace = traces.get(url);
+                if (trace == null) {
+                    continue;
+                }
+                for (int i = 0; i < pathNanos.length; i++) {
+                    pathNanos[i] += trace.stageNanos.get(i);
+                    pathTotal += trace.stageNanos.get(i);
+                }
+            }
+            report.append(String.format(Locale.ROOT, "Critical path: %d pages, %.2f s, ending at %s%n",
+                    path.size(), pathTotal / 1e9, path.get(path.size() - 1)));
+            for (Stage stage : Stage.values()) {
+                if (pathNanos[stage.ordinal()] > 0) {
+                    report.append(String.format(Locale.ROOT, "  %-18s %8.2f s %5.1f%%%n", stage.label(),
+                            pathNanos[stage.ordinal()] / 1e9, 100.0 * pathNanos[stage.ordinal()] / Math.max(pathTotal, 1)));
+                }
+            }
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,22 @@
+package com.sedna.crawler.profile;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Emitted for every timed stage while a flight recording is running, e.g. with
+// -XX:StartFlightRecording. Costs next to nothing when no recording is active.
+@Name("com.sedna.crawler.CrawlStage")
+@Label("Crawl Stage")
+@Category("Crawler")
+@Description("One stage of fetching and processing a page")
+@StackTrace(false)
+class CrawlStageEvent extends jdk.jfr.Event {
+    @Label("Stage")
+    String stage;
+
+    @Label("URL")
+    String url;
+}
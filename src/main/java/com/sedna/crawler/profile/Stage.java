@@ -0,0 +1,27 @@
+package com.sedna.crawler.profile;
+
+// Steps a page goes through, in order. REQUEST covers connect, TLS and waiting for the
+// response headers; HttpClient does not report those separately.
+public enum Stage {
+    QUEUED("queued"),
+    HOST_SLOT("host slot wait"),
+    DNS("dns"),
+    REQUEST("request"),
+    BODY("body download"),
+    SINK("sink"),
+    DEDUP("dedup"),
+    PARSE("link extraction"),
+    RESOLVE("url resolution"),
+    ENQUEUE("enqueue"),
+    PAUSE("politeness pause");
+
+    private final String label;
+
+    Stage(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+}
@@ -0,0 +1,101 @@
+package com.sedna.crawler.recrawl;
+
+import com.sedna.crawler.CancellationToken;
+import com.sedna.crawler.CrawlResult;
+import com.sedna.crawler.CrawlerConfig;
+import com.sedna.crawler.WebCrawler;
+import com.sedna.crawler.graph.LinkGraph;
+import com.sedna.crawler.sink.PageSink;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static com.sedna.crawler.utils.UrlUtils.*;
+
+// Incremental crawl of one site. The first run is a normal crawl that seeds the history; later
+// runs only revisit URLs likely to have changed and follow links to URLs not seen before.
+// The page budget (maxPages) covers both revisits and new discoveries.
+public class Recrawl {
+    private final CrawlerConfig config;
+    private final RecrawlStore store;
+    private final RecrawlScheduler scheduler;
+    private final PageSink pageSink;
+    private final Clock clock;
+    private final LinkGraph linkGraph;
+    private Map<String, List<String>> duplicateClusters = Map.of();
+
+    public Recrawl(CrawlerConfig config, RecrawlStore store, RecrawlScheduler scheduler,
+                   PageSink pageSink, Clock clock) {
+        this(config, store, scheduler, pageSink, clock, null);
+    }
+
+    // Records the outlinks of the pages each run fetches into linkGraph, or null for none
+    public Recrawl(CrawlerConfig config, RecrawlStore store, RecrawlScheduler scheduler,
+                   PageSink pageSink, Clock clock, LinkGraph linkGraph) {
+        this.config = config;
+        this.store = store;
+        this.scheduler = scheduler;
+        this.pageSink = pageSink;
+        this.clock = clock;
+        this.linkGraph = linkGraph;
+    }
+
+    public Recrawl(CrawlerConfig config, RecrawlStore store, PageSink pageSink) {
+        this(config, store, new RecrawlScheduler(), pageSink, Clock.systemUTC());
+    }
+
+    public List<String> run(String startUrl) throws IOException {
+        return run(startUrl, config.deadlineFrom(Instant.now()), new CancellationToken());
+    }
+
+    // Stops at the deadline (null for none) or when cancellation is cancelled, keeping what was
+    // fetched so far in the history
+    public List<String> run(String startUrl, Instant deadline, CancellationToken cancellation) throws IOException {
+        if (!isValidUrl(startUrl)) {
+            throw new IllegalArgumentException("Invalid URL: " + startUrl);
+        }
+
+        Collection<UrlHistory> known;
+        try {
+            known = store.inDomain(extractDomain(normalizeUrl(startUrl)));
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid URL: " + startUrl);
+        }
+
+        List<String> fetched;
+        try (WebCrawler crawler = new WebCrawler(config, pageSink.andThen(store), linkGraph)) {
+            if (known.isEmpty()) {
+                fetched = crawler.crawl(List.of(startUrl), url -> true, deadline, cancellation).urls();
+            } else {
+                List<String> due = scheduler.select(known, config.getMaxPages(), clock.millis());
+                if (due.isEmpty()) {
+                    return List.of();
+                }
+                // due is ordered by change probability, so the scope must come from startUrl
+                CrawlResult result = crawler.crawl(due, startUrl, url -> !store.contains(url),
+                        deadline, cancellation);
+                fetched = result.urls();
+
+                // Only fetches that failed count as misses; URLs skipped for budget or time are
+                // simply due again next run
+                for (String url : result.failedUrls()) {
+                    store.recordMiss(url);
+                }
+            }
+            duplicateClusters = crawler.getDuplicateClusters();
+        }
+
+        store.save();
+        return fetched;
+    }
+
+    // Duplicate clusters seen by the last run
+    public Map<String, List<String>> getDuplicateClusters() {
+        return duplicateClusters;
+    }
+}
@@ -0,0 +1,68 @@
+package com.sedna.crawler.recrawl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+// Picks the URLs most likely to have changed, modelling changes as a Poisson process per URL
+// (Cho & Garcia-Molina). A revisit only shows whether content changed, not how often, so the
+// number of changes is estimated as  n * -ln((n - X + 0.5) / (n + 0.5)),  where n is the number
+// of revisits and X the number that saw new content. The rate is that estimate plus one prior
+// change spread over the observed time plus one prior interval, so new URLs start at the prior
+// rate and never-changing URLs slowly decay instead of dropping to zero.
+public class RecrawlScheduler {
+    private static final double MILLIS_PER_DAY = 86_400_000.0;
+
+    private final double priorChangesPerDay;
+    private final double minChangeProbability;
+
+    public RecrawlScheduler(double priorChangesPerDay, double minChangeProbability) {
+        if (priorChangesPerDay <= 0) {
+            throw new IllegalArgumentException("priorChangesPerDay must be positive");
+        }
+        if (minChangeProbability < 0 || minChangeProbability > 1) {
+            throw new IllegalArgumentException("minChangeProbability must be between 0 and 1");
+        }
+        this.priorChangesPerDay = priorChangesPerDay;
+        this.minChangeProbability = minChangeProbability;
+    }
+
+    public RecrawlScheduler() {
+        this(1.0, 0.2);
+    }
+
+    public double changesPerDay(UrlHistory entry) {
+        int revisits = Math.max(0, entry.fetchCount() - 1);
+        double observedDays = Math.max(0, entry.lastFetched() - entry.firstFetched()) / MILLIS_PER_DAY;
+        double unchangedRatio = (revisits - entry.changeCount() + 0.5) / (revisits + 0.5);
+        double estimatedChanges = -revisits * Math.log(unchangedRatio);
+        return (estimatedChanges + 1) / (observedDays + 1 / priorChangesPerDay);
+    }
+
+    public double changeProbability(UrlHistory entry, long now) {
+        double elapsedDays = Math.max(0, now - entry.lastFetched()) / MILLIS_PER_DAY;
+        return 1 - Math.exp(-changesPerDay(entry) * elapsedDays);
+    }
+
+    // Highest change probability first, at most budget URLs
+    public List<String> select(Collection<UrlHistory> candidates, int budget, long now) {
+        record Candidate(String url, double probability) {
+        }
+
+        List<Candidate> due = new ArrayList<>();
+        for (UrlHistory entry : candidates) {
+            double probability = changeProbability(entry, now);
+            if (probability >= minChangeProbability) {
+                due.add(new Candidate(entry.url(), probability));
+            }
+        }
+        due.sort(Comparator.comparingDouble(Candidate::probability).reversed());
+
+        List<String> selected = new ArrayList<>(Math.min(budget, due.size()));
+        for (int i = 0; i < due.size() && i < budget; i++) {
+            selected.add(due.get(i).url());
+        }
+        return selected;
+    }
+}
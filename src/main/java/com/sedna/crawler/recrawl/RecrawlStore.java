@@ -0,0 +1,121 @@
+package com.sedna.crawler.recrawl;
+
+import com.sedna.crawler.CrawledPage;
+import com.sedna.crawler.sink.PageSink;
+import com.sedna.crawler.utils.HashUtils;
+import com.sedna.crawler.utils.UrlUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per-URL fetch history kept in a tab-separated file. Loaded fully into memory, rewritten on save.
+// Records every page it receives as a sink, so it can be chained after the crawler's other sinks.
+public class RecrawlStore implements PageSink {
+    private static final String HEADER = "# url\tfirstFetched\tlastFetched\tcontentHash\tfetches\tchanges\tmisses";
+    // URLs that failed this many revisits in a row are dropped from the history
+    private static final int MAX_CONSECUTIVE_MISSES = 3;
+
+    private final Path file;
+    private final Clock clock;
+    private final ConcurrentHashMap<String, UrlHistory> history = new ConcurrentHashMap<>();
+
+    public RecrawlStore(Path file, Clock clock) throws IOException {
+        this.file = file;
+        this.clock = clock;
+        if (Files.exists(file)) {
+            load();
+        }
+    }
+
+    public RecrawlStore(Path file) throws IOException {
+        this(file, Clock.systemUTC());
+    }
+
+    private void load() throws IOException {
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\t");
+            if (fields.length != 7) {
+                System.err.println("Skipping malformed history line: " + line);
+                continue;
+            }
+            try {
+                history.put(fields[0], new UrlHistory(fields[0],
+                        Long.parseLong(fields[1]), Long.parseLong(fields[2]), Long.parseUnsignedLong(fields[3], 16),
+                        Integer.parseInt(fields[4]), Integer.parseInt(fields[5]), Integer.parseInt(fields[6])));
+            } catch (NumberFormatException e) {
+                System.err.println("Skipping malformed history line: " + line);
+            }
+        }
+    }
+
+    public synchronized void save() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (UrlHistory entry : history.values()) {
+                writer.write(entry.url() + '\t' + entry.firstFetched() + '\t' + entry.lastFetched() + '\t' +
+                        Long.toHexString(entry.contentHash()) + '\t' + entry.fetchCount() + '\t' +
+                        entry.changeCount() + '\t' + entry.missCount());
+                writer.newLine();
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void accept(CrawledPage page) {
+        record(page.url(), HashUtils.hash64(page.content()));
+    }
+
+    public void record(String url, long contentHash) {
+        long now = clock.millis();
+        history.compute(url, (k, existing) -> existing == null
+                ? UrlHistory.firstFetch(url, contentHash, now)
+                : existing.recordFetch(contentHash, now));
+    }
+
+    public void recordMiss(String url) {
+        history.computeIfPresent(url, (k, existing) -> {
+            UrlHistory updated = existing.recordMiss();
+            return updated.missCount() >= MAX_CONSECUTIVE_MISSES ? null : updated;
+        });
+    }
+
+    public boolean contains(String url) {
+        return history.containsKey(url);
+    }
+
+    public UrlHistory get(String url) {
+        return history.get(url);
+    }
+
+    public Collection<UrlHistory> inDomain(String domain) {
+        List<UrlHistory> entries = new ArrayList<>();
+        for (UrlHistory entry : history.values()) {
+            if (UrlUtils.isSameDomain(entry.url(), domain)) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    public int size() {
+        return history.size();
+    }
+}
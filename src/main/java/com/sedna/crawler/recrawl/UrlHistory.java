@@ -0,0 +1,20 @@
+package com.sedna.crawler.recrawl;
+
+// What previous crawls observed for one URL. Times are epoch milliseconds.
+public record UrlHistory(String url, long firstFetched, long lastFetched, long contentHash,
+                         int fetchCount, int changeCount, int missCount) {
+
+    UrlHistory recordFetch(long contentHash, long now) {
+        boolean changed = contentHash != this.contentHash;
+        return new UrlHistory(url, firstFetched, now, contentHash,
+                fetchCount + 1, changed ? changeCount + 1 : changeCount, 0);
+    }
+
+    UrlHistory recordMiss() {
+        return new UrlHistory(url, firstFetched, lastFetched, contentHash, fetchCount, changeCount, missCount + 1);
+    }
+
+    static UrlHistory firstFetch(String url, long contentHash, long now) {
+        return new UrlHistory(url, now, now, contentHash, 1, 0, 0);
+    }
+}
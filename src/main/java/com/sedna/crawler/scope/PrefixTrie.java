@@ -0,0 +1,85 @@
+package com.sedna.crawler.scope;
+
+import java.util.Arrays;
+
+// Character trie over rule keys. Children are kept in sorted parallel arrays, so a lookup walks
+// the input once with a binary search per character, however many rules were added.
+final class PrefixTrie {
+    // Matches any input that starts with the key
+    static final int PREFIX = 1;
+    // Matches the key itself or the key followed by '.', i.e. a domain and its subdomains
+    // when keys are reversed host names
+    static final int LABEL = 2;
+    // Matches only the key itself
+    static final int EXACT = 4;
+
+    private static final class Node {
+        char[] keys = new char[0];
+        Node[] children = new Node[0];
+        int flags;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node addChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[keys.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, keys.length - insertAt);
+            Node node = new Node();
+            newKeys[insertAt] = c;
+            newChildren[insertAt] = node;
+            keys = newKeys;
+            children = newChildren;
+            return node;
+        }
+    }
+
+    private final Node root = new Node();
+    private boolean empty = true;
+
+    void add(String key, int flag) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.addChild(key.charAt(i));
+        }
+        node.flags |= flag;
+        empty = false;
+    }
+
+    boolean isEmpty() {
+        return empty;
+    }
+
+    boolean matches(CharSequence input) {
+        return matches(input, 0, input.length());
+    }
+
+    // Whether any key matches input[from, to) according to its flags
+    boolean matches(CharSequence input, int from, int to) {
+        Node node = root;
+        for (int i = from; ; i++) {
+            int flags = node.flags;
+            if (flags != 0) {
+                boolean atEnd = i == to;
+                if ((flags & PREFIX) != 0
+                        || (flags & LABEL) != 0 && (atEnd || input.charAt(i) == '.')
+                        || (flags & EXACT) != 0 && atEnd) {
+                    return true;
+                }
+            }
+            if (i == to || (node = node.child(input.charAt(i))) == null) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.sedna.crawler.scope;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Public suffix rules in the format of https://publicsuffix.org/list/: one rule per line,
+// "*." wildcards, "!" exceptions and "//" comments. The built-in list only has the common
+// multi-label suffixes (co.uk, com.au, github.io, ...); single-label TLDs are covered by the
+// default "*" rule. Load the full list for exact results on other country domains.
+public class PublicSuffixList {
+    private static final List<String> BUILT_IN = List.of(
+            "ac.uk", "co.uk", "gov.uk", "ltd.uk", "me.uk", "net.uk", "org.uk", "plc.uk", "sch.uk",
+            "com.au", "edu.au", "gov.au", "net.au", "org.au", "id.au",
+            "co.nz", "govt.nz", "net.nz", "org.nz", "ac.nz",
+            "ac.jp", "co.jp", "go.jp", "ne.jp", "or.jp",
+            "co.kr", "or.kr", "ac.kr",
+            "com.cn", "net.cn", "org.cn", "gov.cn", "edu.cn",
+            "com.hk", "org.hk", "com.tw", "org.tw", "com.sg", "edu.sg",
+            "co.in", "net.in", "org.in", "ac.in", "gov.in",
+            "co.za", "org.za", "ac.za",
+            "com.br", "net.br", "org.br", "gov.br",
+            "com.ar", "com.mx", "org.mx", "com.tr", "org.tr", "co.il", "org.il", "ac.il",
+            "com.es", "org.es", "co.at", "or.at", "com.pl", "net.pl", "org.pl",
+            "com.ua", "com.ru", "com.my", "com.ph", "com.vn", "co.th", "co.id",
+            "*.ck", "!www.ck",
+            // Hosting suffixes whose subdomains belong to different owners
+            "github.io", "gitlab.io", "blogspot.com", "herokuapp.com", "appspot.com",
+            "cloudfront.net", "azurewebsites.net", "netlify.app", "vercel.app", "pages.dev",
+            "web.app", "firebaseapp.com", "s3.amazonaws.com");
+
+    private final Set<String> rules = new HashSet<>();
+    private final Set<String> wildcards = new HashSet<>();
+    private final Set<String> exceptions = new HashSet<>();
+
+    public static PublicSuffixList builtIn() {
+        return parse(BUILT_IN);
+    }
+
+    public static PublicSuffixList load(Path file) throws IOException {
+        return parse(Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+
+    public static PublicSuffixList parse(List<String> lines) {
+        PublicSuffixList list = new PublicSuffixList();
+        for (String line : lines) {
+            // A rule is the first whitespace-separated token of its line
+            String rule = line.strip().split("\\s", 2)[0].toLowerCase(Locale.ROOT);
+            if (rule.isEmpty() || rule.startsWith("//")) {
+                continue;
+            }
+            if (rule.startsWith("!")) {
+                list.exceptions.add(rule.substring(1));
+            } else if (rule.startsWith("*.")) {
+                list.wildcards.add(rule.substring(2));
+            } else {
+                list.rules.add(rule);
+            }
+        }
+        return list;
+    }
+
+    // The public suffix of host plus one label, e.g. example.co.uk for www.example.co.uk. IP
+    // addresses are returned as is; null when host is itself a public suffix.
+    public String registeredDomain(String host) {
+        if (isIpAddress(host)) {
+            return host;
+        }
+        int suffixStart = -1;
+        // Longest matching rule wins, so try the longest candidates first
+        for (int start = 0; start >= 0 && suffixStart < 0; start = nextLabel(host, start)) {
+            String candidate = host.substring(start);
+            int parent = nextLabel(host, start);
+            if (exceptions.contains(candidate)) {
+                suffixStart = parent;
+            } else if (rules.contains(candidate)
+                    || parent >= 0 && wildcards.contains(host.substring(parent))) {
+                suffixStart = start;
+            }
+        }
+        if (suffixStart < 0) {
+            // Default rule "*": the last label
+            suffixStart = host.lastIndexOf('.') + 1;
+        }
+        if (suffixStart == 0) {
+            return null;
+        }
+        return host.substring(host.lastIndexOf('.', suffixStart - 2) + 1);
+    }
+
+    private static int nextLabel(String host, int start) {
+        int dot = host.indexOf('.', start);
+        return dot < 0 ? -1 : dot + 1;
+    }
+
+    private static boolean isIpAddress(String host) {
+        if (host.indexOf(':') >= 0) {
+            return true;
+        }
+        for (int i = 0; i < host.length(); i++) {
+            char c = host.charAt(i);
+            if (c != '.' && (c < '0' || c > '9')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
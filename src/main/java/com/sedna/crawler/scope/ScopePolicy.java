@@ -0,0 +1,148 @@
+package com.sedna.crawler.scope;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// ScopeRules compiled for one crawl. Host and path rules go into tries and each URL pattern list
+// into one automaton (see UrlPatternSet), so a check costs about the same with thousands of rules
+// as with one. Host rule decisions are made once per host and cached. A host counts against
+// maxHosts once a page of it is dispatched (see admitHost); the seed's host is admitted up front.
+public class ScopePolicy {
+    private static final int MAX_CACHED_HOSTS = 65_536;
+
+    // Host patterns are stored with their labels reversed, so subdomains share a path
+    private final PrefixTrie includeHosts = new PrefixTrie();
+    private final PrefixTrie excludeHosts = new PrefixTrie();
+    private final PrefixTrie includePaths = new PrefixTrie();
+    private final PrefixTrie excludePaths = new PrefixTrie();
+    // Null when the list is empty
+    private final UrlPatternSet includeUrls;
+    private final UrlPatternSet excludeUrls;
+    private final int maxHosts;
+    // At most maxHosts entries, never evicted
+    private final Set<String> admittedHosts = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<String, Boolean> hostDecisions = new ConcurrentHashMap<>();
+
+    private ScopePolicy(ScopeRules rules, String seedHost) {
+        if (rules.getIncludeHosts().isEmpty()) {
+            String scopeHost = seedHost;
+            if (rules.isRegisteredDomainScope()) {
+                String registered = rules.getPublicSuffixes().registeredDomain(seedHost);
+                scopeHost = registered != null ? registered : seedHost;
+            }
+            addHost(includeHosts, scopeHost);
+        }
+        rules.getIncludeHosts().forEach(pattern -> addHost(includeHosts, pattern));
+        rules.getExcludeHosts().forEach(pattern -> addHost(excludeHosts, pattern));
+        rules.getIncludePaths().forEach(prefix -> includePaths.add(prefix, PrefixTrie.PREFIX));
+        rules.getExcludePaths().forEach(prefix -> excludePaths.add(prefix, PrefixTrie.PREFIX));
+        this.includeUrls = UrlPatternSet.compile(rules.getIncludeUrlPatterns());
+        this.excludeUrls = UrlPatternSet.compile(rules.getExcludeUrlPatterns());
+        this.maxHosts = rules.getMaxHosts();
+        // Seeds are fetched without a scope check, so their host would otherwise never be admitted
+        admitHost(seedHost);
+    }
+
+    // seedHost is the lowercased host of the crawl's first seed
+    public static ScopePolicy compile(ScopeRules rules, String seedHost) {
+        return new ScopePolicy(rules, seedHost);
+    }
+
+    // url must be normalized, see UrlUtils.normalizeUrl
+    public boolean isInScope(String url) {
+        int schemeEnd = url.indexOf("://");
+        if (schemeEnd < 0) {
+            return false;
+        }
+        int hostStart = schemeEnd + 3;
+        int pathStart = hostStart;
+        int hostEnd = -1;
+        // The port colon comes after the closing bracket of an IPv6 literal
+        int portSearchFrom = url.startsWith("[", hostStart) ? url.indexOf(']', hostStart) : hostStart;
+        while (pathStart < url.length() && url.charAt(pathStart) != '/' && url.charAt(pathStart) != '?') {
+            if (url.charAt(pathStart) == ':' && hostEnd < 0 && pathStart > portSearchFrom) {
+                hostEnd = pathStart;
+            }
+            pathStart++;
+        }
+        if (hostEnd < 0) {
+            hostEnd = pathStart;
+        }
+        if (hostEnd == hostStart || !isHostInScope(url.substring(hostStart, hostEnd))) {
+            return false;
+        }
+
+        int pathEnd = url.indexOf('?', pathStart);
+        if (pathEnd < 0) {
+            pathEnd = url.length();
+        }
+        if (excludePaths.matches(url, pathStart, pathEnd)
+                || !includePaths.isEmpty() && !includePaths.matches(url, pathStart, pathEnd)) {
+            return false;
+        }
+
+        return (excludeUrls == null || !excludeUrls.find(url))
+                && (includeUrls == null || includeUrls.find(url));
+    }
+
+    // Does not admit the host: links to a new host stay in scope while maxHosts has room
+    public boolean isHostInScope(String host) {
+        if (!matchesHostRules(host)) {
+            return false;
+        }
+        return maxHosts == ScopeRules.NO_LIMIT || admittedHosts.size() < maxHosts || admittedHosts.contains(host);
+    }
+
+    // Called when a page of host is about to be fetched; false when maxHosts other hosts were
+    // admitted first, in which case the page must be dropped
+    public boolean admitHost(String host) {
+        if (maxHosts == ScopeRules.NO_LIMIT || admittedHosts.contains(host)) {
+            return true;
+        }
+        synchronized (admittedHosts) {
+            if (admittedHosts.size() >= maxHosts) {
+                return admittedHosts.contains(host);
+            }
+            admittedHosts.add(host);
+            return true;
+        }
+    }
+
+    private boolean matchesHostRules(String host) {
+        Boolean matches = hostDecisions.get(host);
+        if (matches != null) {
+            return matches;
+        }
+        if (hostDecisions.size() >= MAX_CACHED_HOSTS) {
+            hostDecisions.clear();
+        }
+        return hostDecisions.computeIfAbsent(host, this::decideHost);
+    }
+
+    private boolean decideHost(String host) {
+        String reversed = reverseLabels(host);
+        return !excludeHosts.matches(reversed) && includeHosts.matches(reversed);
+    }
+
+    private static void addHost(PrefixTrie trie, String pattern) {
+        if (pattern.startsWith("*.")) {
+            // The reversed subdomains of example.com all start with "com.example."
+            trie.add(reverseLabels(pattern.substring(2)) + ".", PrefixTrie.PREFIX);
+        } else if (pattern.startsWith("=")) {
+            trie.add(reverseLabels(pattern.substring(1)), PrefixTrie.EXACT);
+        } else {
+            trie.add(reverseLabels(pattern), PrefixTrie.LABEL);
+        }
+    }
+
+    // www.example.com -> com.example.www
+    static String reverseLabels(String host) {
+        StringBuilder reversed = new StringBuilder(host.length());
+        int end = host.length();
+        for (int dot = host.lastIndexOf('.'); dot >= 0; dot = host.lastIndexOf('.', dot - 1)) {
+            reversed.append(host, dot + 1, end).append('.');
+            end = dot;
+        }
+        return reversed.append(host, 0, end).toString();
+    }
+}
@@ -0,0 +1,176 @@
+package com.sedna.crawler.scope;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+// Which URLs a crawl may follow, as written in the config. Host rules are "example.com" for the
+// host and its subdomains, "*.example.com" for subdomains only and "=example.com" for the host
+// alone. Without include hosts the scope is the seed's host and its subdomains, widened to the
+// seed's registered domain with registeredDomainScope. Compile with ScopePolicy.
+public class ScopeRules {
+    // 0 for no limit
+    public static final int NO_LIMIT = 0;
+
+    private final List<String> includeHosts = new ArrayList<>();
+    private final List<String> excludeHosts = new ArrayList<>();
+    private final List<String> includePaths = new ArrayList<>();
+    private final List<String> excludePaths = new ArrayList<>();
+    private final List<String> includeUrlPatterns = new ArrayList<>();
+    private final List<String> excludeUrlPatterns = new ArrayList<>();
+    private int maxHosts = NO_LIMIT;
+    private boolean registeredDomainScope;
+    private PublicSuffixList publicSuffixes;
+
+    // Adds the rules in file, one per line: "include-host example.com", "exclude-path /private",
+    // "exclude-url \?sessionid=", ... Blank lines and lines starting with # are skipped.
+    public ScopeRules load(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+", 2);
+            if (parts.length < 2) {
+                throw new IllegalArgumentException(file + ":" + (i + 1) + ": missing value");
+            }
+            switch (parts[0]) {
+                case "include-host" -> includeHost(parts[1]);
+                case "exclude-host" -> excludeHost(parts[1]);
+                case "include-path" -> includePath(parts[1]);
+                case "exclude-path" -> excludePath(parts[1]);
+                case "include-url" -> includeUrlPattern(parts[1]);
+                case "exclude-url" -> excludeUrlPattern(parts[1]);
+                default -> throw new IllegalArgumentException(
+                        file + ":" + (i + 1) + ": unknown rule " + parts[0]);
+            }
+        }
+        return this;
+    }
+
+    public List<String> getIncludeHosts() {
+        return Collections.unmodifiableList(includeHosts);
+    }
+
+    public ScopeRules includeHost(String pattern) {
+        includeHosts.add(requireHostPattern(pattern));
+        return this;
+    }
+
+    public List<String> getExcludeHosts() {
+        return Collections.unmodifiableList(excludeHosts);
+    }
+
+    public ScopeRules excludeHost(String pattern) {
+        excludeHosts.add(requireHostPattern(pattern));
+        return this;
+    }
+
+    public List<String> getIncludePaths() {
+        return Collections.unmodifiableList(includePaths);
+    }
+
+    // Only URLs whose path starts with one of the include paths are followed
+    public ScopeRules includePath(String prefix) {
+        includePaths.add(requirePathPrefix(prefix));
+        return this;
+    }
+
+    public List<String> getExcludePaths() {
+        return Collections.unmodifiableList(excludePaths);
+    }
+
+    public ScopeRules excludePath(String prefix) {
+        excludePaths.add(requirePathPrefix(prefix));
+        return this;
+    }
+
+    public List<String> getIncludeUrlPatterns() {
+        return Collections.unmodifiableList(includeUrlPatterns);
+    }
+
+    // Only URLs in which one of the include patterns is found are followed
+    public ScopeRules includeUrlPattern(String regex) {
+        includeUrlPatterns.add(requireRegex(regex));
+        return this;
+    }
+
+    public List<String> getExcludeUrlPatterns() {
+        return Collections.unmodifiableList(excludeUrlPatterns);
+    }
+
+    public ScopeRules excludeUrlPattern(String regex) {
+        excludeUrlPatterns.add(requireRegex(regex));
+        return this;
+    }
+
+    public int getMaxHosts() {
+        return maxHosts;
+    }
+
+    // Hosts a crawl may fetch from, the seed's host included; links to further hosts are dropped
+    public ScopeRules setMaxHosts(int maxHosts) {
+        if (maxHosts < 0) {
+            throw new IllegalArgumentException("maxHosts must not be negative");
+        }
+        this.maxHosts = maxHosts;
+        return this;
+    }
+
+    public boolean isRegisteredDomainScope() {
+        return registeredDomainScope;
+    }
+
+    public ScopeRules setRegisteredDomainScope(boolean registeredDomainScope) {
+        this.registeredDomainScope = registeredDomainScope;
+        return this;
+    }
+
+    // The built-in list unless one was set
+    public PublicSuffixList getPublicSuffixes() {
+        if (publicSuffixes == null) {
+            publicSuffixes = PublicSuffixList.builtIn();
+        }
+        return publicSuffixes;
+    }
+
+    public ScopeRules setPublicSuffixes(PublicSuffixList publicSuffixes) {
+        this.publicSuffixes = Objects.requireNonNull(publicSuffixes);
+        return this;
+    }
+
+    private static String requireHostPattern(String pattern) {
+        String host = pattern.strip().toLowerCase(Locale.ROOT);
+        String name = host.startsWith("*.") ? host.substring(2) : host.startsWith("=") ? host.substring(1) : host;
+        if (name.isEmpty() || name.startsWith(".") || name.endsWith(".") || name.contains("*")) {
+            throw new IllegalArgumentException("Invalid host pattern: " + pattern);
+        }
+        return host;
+    }
+
+    private static String requirePathPrefix(String prefix) {
+        String path = prefix.strip();
+        if (!path.startsWith("/")) {
+            throw new IllegalArgumentException("Path prefix must start with /: " + prefix);
+        }
+        return path;
+    }
+
+    private static String requireRegex(String regex) {
+        try {
+            Pattern.compile(regex);
+            return regex;
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("Invalid URL pattern: " + regex);
+        }
+    }
+}
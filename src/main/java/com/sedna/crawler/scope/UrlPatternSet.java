@@ -0,0 +1,149 @@
+package com.sedna.crawler.scope;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// A list of URL patterns, matched by find() semantics. Patterns that are plain strings (the usual
+// "sessionid=" or "/print/" rules) go into one Aho-Corasick automaton, which scans the URL once
+// whatever their number; real regexes are joined into a single alternation.
+final class UrlPatternSet {
+    private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    private static final class Node {
+        char[] keys = new char[0];
+        Node[] children = new Node[0];
+        Node fail;
+        // Some literal ends here or at a suffix reachable through fail links
+        boolean output;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node addChild(char c) {
+            Node existing = child(c);
+            if (existing != null) {
+                return existing;
+            }
+            int insertAt = -Arrays.binarySearch(keys, c) - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[keys.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, keys.length - insertAt);
+            Node node = new Node();
+            newKeys[insertAt] = c;
+            newChildren[insertAt] = node;
+            keys = newKeys;
+            children = newChildren;
+            return node;
+        }
+    }
+
+    // Null when there are no literals
+    private final Node root;
+    // Null when there are no regexes
+    private final Pattern regexes;
+
+    private UrlPatternSet(Node root, Pattern regexes) {
+        this.root = root;
+        this.regexes = regexes;
+    }
+
+    // Null when patterns is empty
+    static UrlPatternSet compile(List<String> patterns) {
+        if (patterns.isEmpty()) {
+            return null;
+        }
+        Node root = null;
+        List<String> regexes = new ArrayList<>();
+        for (String pattern : patterns) {
+            String literal = literal(pattern);
+            if (literal == null) {
+                regexes.add("(?:" + pattern + ")");
+                continue;
+            }
+            if (root == null) {
+                root = new Node();
+            }
+            Node node = root;
+            for (int i = 0; i < literal.length(); i++) {
+                node = node.addChild(literal.charAt(i));
+            }
+            node.output = true;
+        }
+        if (root != null) {
+            linkFailures(root);
+        }
+        return new UrlPatternSet(root,
+                regexes.isEmpty() ? null : Pattern.compile(regexes.stream().collect(Collectors.joining("|"))));
+    }
+
+    boolean find(String url) {
+        if (root != null) {
+            Node node = root;
+            for (int i = 0; i < url.length(); i++) {
+                char c = url.charAt(i);
+                Node next;
+                while ((next = node.child(c)) == null && node != root) {
+                    node = node.fail;
+                }
+                node = next != null ? next : root;
+                if (node.output) {
+                    return true;
+                }
+            }
+        }
+        return regexes != null && regexes.matcher(url).find();
+    }
+
+    // Breadth-first, so each node's fail target is already linked when it is reached
+    private static void linkFailures(Node root) {
+        root.fail = root;
+        Queue<Node> queue = new ArrayDeque<>();
+        for (Node child : root.children) {
+            child.fail = root;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            for (int i = 0; i < node.keys.length; i++) {
+                Node child = node.children[i];
+                Node fail = node.fail;
+                Node target;
+                while ((target = fail.child(node.keys[i])) == null && fail != root) {
+                    fail = fail.fail;
+                }
+                child.fail = target != null ? target : root;
+                child.output |= child.fail.output;
+                queue.add(child);
+            }
+        }
+    }
+
+    // The text pattern matches when it has no regex syntax beyond escaped punctuation, else null
+    static String literal(String pattern) {
+        StringBuilder literal = new StringBuilder(pattern.length());
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\') {
+                if (i + 1 == pattern.length() || Character.isLetterOrDigit(pattern.charAt(i + 1))) {
+                    return null;
+                }
+                literal.append(pattern.charAt(++i));
+            } else if (META_CHARACTERS.indexOf(c) >= 0) {
+                return null;
+            } else {
+                literal.append(c);
+            }
+        }
+        return literal.isEmpty() ? null : literal.toString();
+    }
+}
@@ -0,0 +1,57 @@
+package com.sedna.crawler.sink;
+
+import com.sedna.crawler.CrawledPage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import static com.sedna.crawler.utils.JsonUtils.quote;
+
+// Streams one JSON object per fetched page as newline-delimited JSON
+public class JsonLinesPageSink implements PageSink {
+    private final BufferedWriter writer;
+    private final boolean closeStream;
+
+    public JsonLinesPageSink(OutputStream out, boolean closeStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.closeStream = closeStream;
+    }
+
+    @Override
+    public void accept(CrawledPage page) {
+        String contentType = page.headers() == null ? null
+                : page.headers().firstValue("content-type").orElse(null);
+        String line = "{\"url\":" + quote(page.url()) +
+                ",\"status\":" + page.statusCode() +
+                ",\"bytes\":" + page.bodyLength() +
+                ",\"fetchMs\":" + page.fetchNanos() / 1_000_000 +
+                ",\"contentType\":" + quote(contentType) + "}\n";
+
+        synchronized (writer) {
+            try {
+                writer.write(line);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (writer) {
+            try {
+                if (closeStream) {
+                    writer.close();
+                } else {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                System.err.println("Error closing output: " + e.getMessage());
+            }
+        }
+    }
+}
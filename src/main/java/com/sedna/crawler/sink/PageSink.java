@@ -0,0 +1,42 @@
+package com.sedna.crawler.sink;
+
+import com.sedna.crawler.CrawledPage;
+
+// Receives every successfully fetched page. Called concurrently from crawl threads.
+@FunctionalInterface
+public interface PageSink extends AutoCloseable {
+    PageSink NONE = page -> { };
+
+    void accept(CrawledPage page);
+
+    // The returned sink closes both, next even when closing this one fails
+    default PageSink andThen(PageSink next) {
+        PageSink first = this;
+        return new PageSink() {
+            @Override
+            public void accept(CrawledPage page) {
+                first.accept(page);
+                next.accept(page);
+            }
+
+            @Override
+            public void close() {
+                try {
+                    first.close();
+                } catch (RuntimeException e) {
+                    try {
+                        next.close();
+                    } catch (RuntimeException suppressed) {
+                        e.addSuppressed(suppressed);
+                    }
+                    throw e;
+                }
+                next.close();
+            }
+        };
+    }
+
+    @Override
+    default void close() {
+    }
+}
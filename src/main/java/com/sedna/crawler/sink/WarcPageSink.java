@@ -0,0 +1,311 @@
+package com.sedna.crawler.sink;
+
+import com.sedna.crawler.CrawledPage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpHeaders;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+// Writes pages as WARC response records, gzip-compressed one member per record so any record
+// can be read back on its own from the offset index. A single writer thread owns the files.
+public class WarcPageSink implements PageSink {
+    public static final String INDEX_FILE = "archive.idx";
+    private static final String FILE_PREFIX = "crawl-";
+    private static final String FILE_SUFFIX = ".warc.gz";
+    private static final long DEFAULT_MAX_FILE_BYTES = 1L << 30;
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final CrawledPage END_OF_STREAM = new CrawledPage("", 0, null, new byte[0], StandardCharsets.UTF_8, 0);
+    // How often a producer blocked on a full queue checks that the writer is still alive
+    private static final long ENQUEUE_POLL_MILLIS = 100;
+    // Describe the bytes on the wire rather than the stored body, see toWarcRecord
+    private static final Set<String> WIRE_HEADERS = Set.of("transfer-encoding", "content-encoding", "content-length");
+
+    private final Path directory;
+    private final long maxFileBytes;
+    private final BlockingQueue<CrawledPage> queue;
+    private final Thread writerThread;
+    private final FileChannel indexChannel;
+    private FileChannel archiveChannel;
+    private String archiveFileName;
+    private int nextFileNumber;
+    private volatile boolean closed;
+    // Set when the writer thread died on an unexpected error
+    private volatile RuntimeException writerFailure;
+
+    public record IndexEntry(String url, String fileName, long offset, int length) {
+    }
+
+    public WarcPageSink(Path directory, long maxFileBytes, int queueCapacity) throws IOException {
+        if (maxFileBytes <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("maxFileBytes and queueCapacity must be positive");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.maxFileBytes = maxFileBytes;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.nextFileNumber = nextArchiveNumber(directory);
+        this.indexChannel = FileChannel.open(directory.resolve(INDEX_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        rollArchive();
+
+        this.writerThread = Thread.ofPlatform().name("warc-writer").daemon().start(this::runWriter);
+    }
+
+    public WarcPageSink(Path directory) throws IOException {
+        this(directory, DEFAULT_MAX_FILE_BYTES, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    @Override
+    public void accept(CrawledPage page) {
+        if (closed) {
+            throw new IllegalStateException("Sink is closed");
+        }
+        try {
+            // Blocks when the writer falls behind, which throttles the fetchers
+            enqueue(page);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Like put(), but gives up instead of waiting forever once the writer has died
+    private void enqueue(CrawledPage page) throws InterruptedException {
+        while (true) {
+            RuntimeException failure = writerFailure;
+            if (failure != null) {
+                throw new IllegalStateException("Archive writer failed", failure);
+            }
+            if (queue.offer(page, ENQUEUE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        }
+    }
+
+    private void runWriter() {
+        List<CrawledPage> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        boolean done = false;
+
+        while (!done) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                done = batch.removeIf(page -> page == END_OF_STREAM);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                done = true;
+            } catch (IOException e) {
+                // Keep draining so producers never block on a broken disk
+                System.err.println("Error writing archive batch: " + e.getMessage());
+            } catch (RuntimeException e) {
+                // A bug, not a bad disk, so stop writing; producers fail fast from now on
+                System.err.println("Archive writer failed: " + e);
+                writerFailure = e;
+                queue.clear();
+                done = true;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<CrawledPage> batch) throws IOException {
+        List<ByteBuffer> records = new ArrayList<>(batch.size());
+        StringBuilder indexLines = new StringBuilder();
+        long position = archiveChannel.position();
+
+        for (CrawledPage page : batch) {
+            byte[] record = compress(toWarcRecord(page));
+
+            if (position > 0 && position + record.length > maxFileBytes) {
+                writeFully(archiveChannel, records);
+                records.clear();
+                rollArchive();
+                position = 0;
+            }
+
+            records.add(ByteBuffer.wrap(record));
+            indexLines.append(page.url()).append('\t')
+                      .append(archiveFileName).append('\t')
+                      .append(position).append('\t')
+                      .append(record.length).append('\n');
+            position += record.length;
+        }
+
+        writeFully(archiveChannel, records);
+        writeFully(indexChannel, List.of(ByteBuffer.wrap(indexLines.toString().getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static void writeFully(FileChannel channel, List<ByteBuffer> buffers) throws IOException {
+        ByteBuffer[] array = buffers.toArray(new ByteBuffer[0]);
+        long remaining = 0;
+        for (ByteBuffer buffer : array) {
+            remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(array);
+        }
+    }
+
+    private void rollArchive() throws IOException {
+        if (archiveChannel != null) {
+            archiveChannel.force(false);
+            archiveChannel.close();
+        }
+        archiveFileName = String.format("%s%05d%s", FILE_PREFIX, nextFileNumber++, FILE_SUFFIX);
+        archiveChannel = FileChannel.open(directory.resolve(archiveFileName),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    // One past the highest existing archive number, so files deleted from the middle are not reused
+    private static int nextArchiveNumber(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                        .filter(name -> name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX))
+                        .map(name -> name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()))
+                        .filter(number -> !number.isEmpty() && number.chars().allMatch(Character::isDigit))
+                        .mapToInt(number -> Integer.parseInt(number) + 1)
+                        .max()
+                        .orElse(0);
+        }
+    }
+
+    static byte[] toWarcRecord(CrawledPage page) {
+        StringBuilder http = new StringBuilder();
+        // HttpClient does not expose the reason phrase; the space before it is still required
+        http.append("HTTP/1.1 ").append(page.statusCode()).append(" \r\n");
+        HttpHeaders headers = page.headers();
+        String contentEncoding = headers != null ? headers.firstValue("content-encoding").orElse(null) : null;
+        byte[] decoded = decode(page.content(), contentEncoding);
+        // HttpClient has already removed chunking. The body is stored decoded when its encoding is
+        // one we can undo, so the wire headers are kept under X-Crawler- names, the way other WARC
+        // writers do, and Content-Length is rewritten to match.
+        byte[] body = decoded != null ? decoded : page.content();
+        if (headers != null) {
+            headers.map().forEach((name, values) -> {
+                String lowerName = name.toLowerCase(Locale.ROOT);
+                boolean rename = WIRE_HEADERS.contains(lowerName)
+                        && !(lowerName.equals("content-encoding") && decoded == null);
+                values.forEach(value -> http.append(rename ? "X-Crawler-" + name : name)
+                                            .append(": ").append(value).append("\r\n"));
+            });
+        }
+        http.append("Content-Length: ").append(body.length).append("\r\n");
+        http.append("\r\n");
+
+        byte[] httpHead = http.toString().getBytes(StandardCharsets.UTF_8);
+
+        String warcHead = "WARC/1.1\r\n" +
+                "WARC-Type: response\r\n" +
+                "WARC-Record-ID: <urn:uuid:" + UUID.randomUUID() + ">\r\n" +
+                "WARC-Date: " + Instant.now() + "\r\n" +
+                "WARC-Target-URI: " + page.url() + "\r\n" +
+                "Content-Type: application/http; msgtype=response\r\n" +
+                "Content-Length: " + (httpHead.length + body.length) + "\r\n\r\n";
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(warcHead.length() + httpHead.length + body.length + 4);
+        out.writeBytes(warcHead.getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(httpHead);
+        out.writeBytes(body);
+        out.writeBytes("\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+
+    // Body with its Content-Encoding undone, or null when it cannot be: unknown encoding or corrupt
+    // data, in which case the record keeps the body and the header as received
+    static byte[] decode(byte[] content, String contentEncoding) {
+        if (contentEncoding == null) {
+            return content;
+        }
+        String encoding = contentEncoding.trim().toLowerCase(Locale.ROOT);
+        if (encoding.isEmpty() || encoding.equals("identity")) {
+            return content;
+        }
+        if (!encoding.equals("gzip") && !encoding.equals("x-gzip") && !encoding.equals("deflate")) {
+            return null;
+        }
+        try (InputStream in = encoding.equals("deflate")
+                ? new InflaterInputStream(new ByteArrayInputStream(content))
+                : new GZIPInputStream(new ByteArrayInputStream(content))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static byte[] compress(byte[] record) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(record.length / 3 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(record);
+        }
+        return out.toByteArray();
+    }
+
+    public static List<IndexEntry> readIndex(Path directory) throws IOException {
+        List<IndexEntry> entries = new ArrayList<>();
+        for (String line : Files.readAllLines(directory.resolve(INDEX_FILE), StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\t");
+            if (fields.length == 4) {
+                entries.add(new IndexEntry(fields[0], fields[1],
+                        Long.parseLong(fields[2]), Integer.parseInt(fields[3])));
+            }
+        }
+        return entries;
+    }
+
+    // Random access to a single record, returned uncompressed
+    public static byte[] readRecord(Path directory, IndexEntry entry) throws IOException {
+        ByteBuffer compressed = ByteBuffer.allocate(entry.length());
+        try (FileChannel channel = FileChannel.open(directory.resolve(entry.fileName()), StandardOpenOption.READ)) {
+            while (compressed.hasRemaining()) {
+                if (channel.read(compressed, entry.offset() + compressed.position()) < 0) {
+                    throw new IOException("Truncated record for " + entry.url());
+                }
+            }
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.array()))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (writerFailure == null) {
+                enqueue(END_OF_STREAM);
+            }
+            writerThread.join();
+        } catch (InterruptedException e) {
+            writerThread.interrupt();
+            Thread.currentThread().interrupt();
+        }
+        try {
+            archiveChannel.force(false);
+            archiveChannel.close();
+            indexChannel.force(false);
+            indexChannel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing archive: " + e.getMessage());
+        }
+    }
+}
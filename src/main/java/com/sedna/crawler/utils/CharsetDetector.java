@@ -0,0 +1,75 @@
+package com.sedna.crawler.utils;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Works out how a page is encoded, in the order HTML gives precedence: byte order mark, then the
+// Content-Type header, then a <meta> declaration in the first 1024 bytes, else UTF-8.
+public class CharsetDetector {
+    private static final int META_PRESCAN_BYTES = 1024;
+    private static final Pattern HEADER_CHARSET = Pattern.compile(
+            "charset\\s*=\\s*[\"']?([-\\w.:]+)", Pattern.CASE_INSENSITIVE);
+    // Matches both <meta charset="x"> and <meta http-equiv="Content-Type" content="...; charset=x">
+    private static final Pattern META_CHARSET = Pattern.compile(
+            "<meta\\b[^>]*?charset\\s*=\\s*[\"']?\\s*([-\\w.:]+)", Pattern.CASE_INSENSITIVE);
+    private static final String ASCII_PROBE = "<a href=\"/Az09?#&;:.-_%'\">\t\r\n ";
+    private static final ConcurrentHashMap<Charset, Boolean> ASCII_COMPATIBLE = new ConcurrentHashMap<>();
+
+    public static Charset detect(String contentType, byte[] content) {
+        Charset charset = fromByteOrderMark(content);
+        if (charset != null) {
+            return charset;
+        }
+
+        if (contentType != null) {
+            Matcher header = HEADER_CHARSET.matcher(contentType);
+            if (header.find() && (charset = forName(header.group(1))) != null) {
+                return charset;
+            }
+        }
+
+        Matcher meta = META_CHARSET.matcher(
+                new ByteCharSequence(content, 0, Math.min(content.length, META_PRESCAN_BYTES)));
+        if (meta.find() && (charset = forName(meta.group(1))) != null) {
+            // A page whose <meta> could be read as ASCII is not really UTF-16
+            return charset.name().startsWith("UTF-16") ? StandardCharsets.UTF_8 : charset;
+        }
+
+        return StandardCharsets.UTF_8;
+    }
+
+    // True when ASCII text encodes to the same bytes, so markup can be scanned byte by byte.
+    // Stateful ISO-2022 encodings pass the probe but reuse ASCII bytes after escape sequences.
+    public static boolean isAsciiCompatible(Charset charset) {
+        return ASCII_COMPATIBLE.computeIfAbsent(charset, c -> c.canEncode() &&
+                !c.name().startsWith("ISO-2022") &&
+                Arrays.equals(ASCII_PROBE.getBytes(c), ASCII_PROBE.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static Charset fromByteOrderMark(byte[] content) {
+        if (content.length >= 3 && (content[0] & 0xff) == 0xef && (content[1] & 0xff) == 0xbb
+                && (content[2] & 0xff) == 0xbf) {
+            return StandardCharsets.UTF_8;
+        }
+        if (content.length >= 2 && (content[0] & 0xff) == 0xfe && (content[1] & 0xff) == 0xff) {
+            return StandardCharsets.UTF_16BE;
+        }
+        if (content.length >= 2 && (content[0] & 0xff) == 0xff && (content[1] & 0xff) == 0xfe) {
+            return StandardCharsets.UTF_16LE;
+        }
+        return null;
+    }
+
+    private static Charset forName(String name) {
+        try {
+            return Charset.forName(name);
+        } catch (IllegalArgumentException e) {
+            // Unknown or malformed name, try the next source
+            return null;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.sedna.crawler.utils;
+
+public class HashUtils {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    // 64-bit FNV-1a over the UTF-16 code units, finished with a SplitMix64 mix so that
+    // small content differences spread over all bits
+    public static long hash64(CharSequence content) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < content.length(); i++) {
+            hash ^= content.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return mix64(hash);
+    }
+
+    // Same as hash64(CharSequence) over the bytes read as ISO-8859-1, so ASCII content hashes
+    // identically either way
+    public static long hash64(byte[] content) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : content) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return mix64(hash);
+    }
+
+    public static long mix64(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -19,4 +19,9 @@ public class HttpUtils {
     public static boolean isSuccess(int statusCode) {
         return SUCCESS_STATUS_CODES.contains(statusCode);
     }
+
+    // 4xx and 5xx; redirects and other statuses mean the URL is still alive
+    public static boolean isError(int statusCode) {
+        return statusCode >= 400 && statusCode < 600;
+    }
 }
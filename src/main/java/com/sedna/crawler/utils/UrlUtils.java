@@ -54,6 +54,15 @@ public class UrlUtils {
         return host.toLowerCase();
     }
 
+    public static String extractOrigin(String url) throws URISyntaxException {
+        URI parsedUri = new URI(url);
+        if (parsedUri.getScheme() == null || parsedUri.getHost() == null) {
+            throw new URISyntaxException(url, "No origin found in URL");
+        }
+        return parsedUri.getScheme() + "://" + parsedUri.getHost().toLowerCase() +
+                (parsedUri.getPort() != -1 ? ":" + parsedUri.getPort() : "");
+    }
+
     public static boolean isSameDomain(String url, String targetDomain) {
         try {
             String domain = extractDomain(url);
@@ -0,0 +1,45 @@
+package com.sedna.crawler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CancellationTokenTest {
+
+    @Test
+    void cancel_RunsRegisteredActionsOnce() {
+        CancellationToken token = new CancellationToken();
+        AtomicInteger runs = new AtomicInteger();
+        token.onCancel(runs::incrementAndGet);
+
+        token.cancel();
+        token.cancel();
+
+        assertTrue(token.isCancelled());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void onCancel_AlreadyCancelled_RunsStraightAway() {
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        AtomicInteger runs = new AtomicInteger();
+
+        token.onCancel(runs::incrementAndGet);
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void remove_ActionNotRunOnCancel() {
+        CancellationToken token = new CancellationToken();
+        AtomicInteger runs = new AtomicInteger();
+
+        token.onCancel(runs::incrementAndGet).remove();
+        token.cancel();
+
+        assertEquals(0, runs.get());
+    }
+}
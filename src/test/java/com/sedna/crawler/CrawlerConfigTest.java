@@ -0,0 +1,110 @@
+package com.sedna.crawler;
+
+import com.sedna.crawler.scope.ScopeRules;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.time.Duration;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrawlerConfigTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void fromProperties_EmptyProperties_UsesDefaults() {
+        CrawlerConfig config = CrawlerConfig.fromProperties(new Properties());
+
+        assertEquals(200, config.getMaxPages());
+        assertEquals(2, config.getMaxConcurrentRequestsPerHost());
+        assertEquals(Duration.ofSeconds(15), config.getConnectTimeout());
+        assertEquals(Duration.ofSeconds(30), config.getRequestTimeout());
+        assertNull(config.getStateDir());
+        assertFalse(config.isArchive());
+        assertTrue(config.isVerbose());
+    }
+
+    @Test
+    void fromProperties_ReadsAllKeys() {
+        Properties properties = new Properties();
+        properties.setProperty("maxPages", "1000");
+        properties.setProperty("maxConcurrentRequestsPerHost", " 4 ");
+        properties.setProperty("connectTimeoutSeconds", "5");
+        properties.setProperty("requestTimeoutSeconds", "10");
+        properties.setProperty("stateDir", "/tmp/crawl-state");
+        properties.setProperty("archive", "true");
+        properties.setProperty("verbose", "false");
+
+        CrawlerConfig config = CrawlerConfig.fromProperties(properties);
+
+        assertEquals(1000, config.getMaxPages());
+        assertEquals(4, config.getMaxConcurrentRequestsPerHost());
+        assertEquals(Duration.ofSeconds(5), config.getConnectTimeout());
+        assertEquals(Duration.ofSeconds(10), config.getRequestTimeout());
+        assertEquals(Path.of("/tmp/crawl-state"), config.getStateDir());
+        assertTrue(config.isArchive());
+        assertFalse(config.isVerbose());
+    }
+
+    @Test
+    void fromProperties_BudgetLimits() {
+        CrawlerConfig defaults = new CrawlerConfig();
+        assertEquals(0, defaults.getMaxPagesPerHost());
+        assertEquals(-1, defaults.getMaxDepth());
+        assertEquals(0, defaults.getMaxPagesPerDepth());
+
+        Properties properties = new Properties();
+        properties.setProperty("maxPagesPerHost", "50");
+        properties.setProperty("maxDepth", "3");
+        properties.setProperty("maxPagesPerDepth", "20");
+
+        CrawlerConfig config = CrawlerConfig.fromProperties(properties);
+
+        assertEquals(50, config.getMaxPagesPerHost());
+        assertEquals(3, config.getMaxDepth());
+        assertEquals(20, config.getMaxPagesPerDepth());
+        assertThrows(IllegalArgumentException.class, () -> config.setMaxDepth(-2));
+    }
+
+    @Test
+    void fromProperties_ScopeRules() throws IOException {
+        Path rulesFile = tempDir.resolve("scope.rules");
+        Files.writeString(rulesFile, "# comment\ninclude-host example.com\nexclude-url \\?print=\n");
+        Properties properties = new Properties();
+        properties.setProperty("excludeHosts", "ads.example.com, cdn.example.com");
+        properties.setProperty("includePaths", "/docs");
+        properties.setProperty("maxHosts", "3");
+        properties.setProperty("registeredDomainScope", "true");
+        properties.setProperty("scopeRulesFile", rulesFile.toString());
+
+        ScopeRules rules = CrawlerConfig.fromProperties(properties).getScopeRules();
+
+        assertEquals(List.of("example.com"), rules.getIncludeHosts());
+        assertEquals(List.of("ads.example.com", "cdn.example.com"), rules.getExcludeHosts());
+        assertEquals(List.of("/docs"), rules.getIncludePaths());
+        assertEquals(List.of("\\?print="), rules.getExcludeUrlPatterns());
+        assertEquals(3, rules.getMaxHosts());
+        assertTrue(rules.isRegisteredDomainScope());
+
+        Files.writeString(rulesFile, "follow everything\n");
+        assertThrows(IllegalArgumentException.class, () -> CrawlerConfig.fromProperties(properties));
+    }
+
+    @Test
+    void fromProperties_InvalidValues_Throw() {
+        Properties notANumber = new Properties();
+        notANumber.setProperty("maxPages", "many");
+        assertThrows(IllegalArgumentException.class, () -> CrawlerConfig.fromProperties(notANumber));
+
+        Properties negative = new Properties();
+        negative.setProperty("maxConcurrentRequestsPerHost", "0");
+        assertThrows(IllegalArgumentException.class, () -> CrawlerConfig.fromProperties(negative));
+    }
+}
@@ -0,0 +1,79 @@
+package com.sedna.crawler;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinkCacheTest {
+
+    @Test
+    void resolve_RepeatedHref_RunsResolverOnce() {
+        LinkCache.Host host = new LinkCache().forOrigin("https://example.com");
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 10; i++) {
+            String result = host.resolve("/about", href -> {
+                calls.incrementAndGet();
+                return "https://example.com" + href;
+            });
+            assertEquals("https://example.com/about", result);
+        }
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void resolve_RejectedHref_IsCachedAsRejected() {
+        LinkCache.Host host = new LinkCache().forOrigin("https://example.com");
+        AtomicInteger calls = new AtomicInteger();
+
+        assertNull(host.resolve("https://other.com/", href -> {
+            calls.incrementAndGet();
+            return null;
+        }));
+        assertNull(host.resolve("https://other.com/", href -> {
+            calls.incrementAndGet();
+            return null;
+        }));
+
+        assertEquals(1, calls.get());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"page.html", "../parent.html", "?sort=asc"})
+    void resolve_PathRelativeHref_IsNotCached(String href) {
+        LinkCache.Host host = new LinkCache().forOrigin("https://example.com");
+        AtomicInteger calls = new AtomicInteger();
+
+        host.resolve(href, h -> "https://example.com/" + calls.incrementAndGet());
+        host.resolve(href, h -> "https://example.com/" + calls.incrementAndGet());
+
+        assertEquals(2, calls.get());
+        assertEquals(0, host.size());
+    }
+
+    @Test
+    void resolve_EntriesAreKeptPerOrigin() {
+        LinkCache cache = new LinkCache();
+
+        cache.forOrigin("https://a.example.com").resolve("/x", href -> "https://a.example.com/x");
+
+        assertEquals("https://b.example.com/x",
+                cache.forOrigin("https://b.example.com").resolve("/x", href -> "https://b.example.com/x"));
+    }
+
+    @Test
+    void resolve_StaysWithinCapacity() {
+        LinkCache.Host host = new LinkCache(8).forOrigin("https://example.com");
+
+        for (int i = 0; i < 100; i++) {
+            host.resolve("/page" + i, href -> "https://example.com" + href);
+        }
+
+        assertTrue(host.size() <= 8);
+    }
+}
@@ -0,0 +1,112 @@
+package com.sedna.crawler;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinkExtractorTest {
+
+    private static List<LinkExtractor.RawLink> links(String html) {
+        return LinkExtractor.extract(html).links();
+    }
+
+    @Test
+    void extract_AnchorsWithAnyQuoting() {
+        assertEquals(List.of(
+                        new LinkExtractor.RawLink("/double", LinkType.ANCHOR),
+                        new LinkExtractor.RawLink("/single", LinkType.ANCHOR),
+                        new LinkExtractor.RawLink("/unquoted", LinkType.ANCHOR)),
+                links("<a href=\"/double\">1</a><A class='x' HREF='/single'>2</A><a href=/unquoted>3</a>"));
+    }
+
+    @Test
+    void extract_DecodesAmpersandEntities() {
+        assertEquals("/list?page=2&sort=asc",
+                links("<a href=\"/list?page=2&amp;sort=asc\">next</a>").get(0).href());
+    }
+
+    @Test
+    void extract_IgnoresTagsThatOnlyStartWithA() {
+        assertTrue(links("<abbr title=\"x\">y</abbr><article href=\"/no\"></article>").isEmpty());
+    }
+
+    @Test
+    void extract_LinkRelTypes() {
+        List<LinkExtractor.RawLink> links = links("""
+                <link rel="canonical" href="/canonical">
+                <link rel="next" href="/page/3">
+                <link rel="prev" href="/page/1">
+                <link rel="alternate" hreflang="de" href="/de/">
+                <link rel="alternate" type="application/rss+xml" href="/feed.xml">
+                <link rel="stylesheet" href="/style.css">
+                <link rel="icon" href="/favicon.ico">""");
+
+        assertEquals(List.of(LinkType.CANONICAL, LinkType.NEXT, LinkType.PREV, LinkType.ALTERNATE,
+                        LinkType.OTHER, LinkType.STYLESHEET, LinkType.IMAGE),
+                links.stream().map(LinkExtractor.RawLink::type).toList());
+    }
+
+    @Test
+    void extract_MetaRefresh() {
+        assertEquals(List.of(new LinkExtractor.RawLink("/moved", LinkType.META_REFRESH)),
+                links("<meta http-equiv=\"refresh\" content=\"0; URL='/moved'\">"));
+        assertTrue(links("<meta name=\"refresh\" content=\"0; url=/x\">").isEmpty());
+    }
+
+    @Test
+    void extract_FramesImagesAndSrcset() {
+        assertEquals(List.of(
+                        new LinkExtractor.RawLink("/frame.html", LinkType.FRAME),
+                        new LinkExtractor.RawLink("/a.jpg", LinkType.IMAGE),
+                        new LinkExtractor.RawLink("/small.jpg", LinkType.IMAGE),
+                        new LinkExtractor.RawLink("/large.jpg", LinkType.IMAGE)),
+                links("<iframe src=\"/frame.html\"></iframe>" +
+                        "<img src=\"/a.jpg\" srcset=\"/small.jpg 480w, /large.jpg 1080w\">"));
+    }
+
+    @Test
+    void extract_FirstBaseHrefWins() {
+        LinkExtractor.Extraction extraction = LinkExtractor.extract(
+                "<a href=\"x\">x</a><base href=\"https://example.com/docs/\"><base href=\"/ignored/\">");
+
+        assertEquals("https://example.com/docs/", extraction.baseHref());
+        assertEquals(1, extraction.links().size());
+    }
+
+    @Test
+    void extractBytes_DecodesOnlyNonAsciiHrefs() {
+        String html = "<p>Grüße</p><a href=\"/straße\">x</a><a href=\"/plain\">y</a>";
+
+        for (Charset charset : List.of(StandardCharsets.UTF_8, Charset.forName("windows-1252"))) {
+            assertEquals(List.of(
+                            new LinkExtractor.RawLink("/straße", LinkType.ANCHOR),
+                            new LinkExtractor.RawLink("/plain", LinkType.ANCHOR)),
+                    LinkExtractor.extract(html.getBytes(charset), charset).links(), charset.name());
+        }
+    }
+
+    @Test
+    void extractBytes_NonAsciiCompatibleCharset_DecodesPage() {
+        String html = "<base href=\"/docs/\"><a href=\"guide.html\">guide</a>";
+
+        LinkExtractor.Extraction extraction = LinkExtractor.extract(
+                html.getBytes(StandardCharsets.UTF_16LE), StandardCharsets.UTF_16LE);
+
+        assertEquals("/docs/", extraction.baseHref());
+        assertEquals(List.of(new LinkExtractor.RawLink("guide.html", LinkType.ANCHOR)), extraction.links());
+    }
+
+    @Test
+    void fromLinkHeader_ParsesMultipleEntries() {
+        assertEquals(List.of(
+                        new LinkExtractor.RawLink("https://example.com/page/2", LinkType.NEXT),
+                        new LinkExtractor.RawLink("/canonical", LinkType.CANONICAL),
+                        new LinkExtractor.RawLink("/style.css", LinkType.STYLESHEET)),
+                LinkExtractor.fromLinkHeader(
+                        "<https://example.com/page/2>; rel=\"next\", </canonical>; rel=canonical, </style.css>; rel=stylesheet"));
+    }
+}
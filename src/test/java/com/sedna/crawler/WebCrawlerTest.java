@@ -2,6 +2,8 @@ package com.sedna.crawler;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.sedna.crawler.scope.ScopeRules;
+import com.sedna.crawler.sink.PageSink;
 import com.sedna.crawler.utils.UrlUtils;
 import org.awaitility.Awaitility;
 import org.junit.jupiter.api.AfterEach;
@@ -11,6 +13,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -200,6 +203,44 @@ class WebCrawlerTest {
         }
     }
 
+    @Test
+    void crawl_FollowsSecondaryLinkSources() {
+        wireMockServer.stubFor(get(urlEqualTo("/"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "text/html")
+                        .withHeader("Link", "</from-header>; rel=\"next\"")
+                        .withBody("""
+                            <html><head>
+                                <base href="/docs/">
+                                <link rel="canonical" href="/canonical">
+                                <meta http-equiv="refresh" content="30; url=/refreshed">
+                            </head><body>
+                                <a href=guide.html>Unquoted relative link</a>
+                                <img src="/logo.png">
+                            </body></html>""")));
+
+        for (String path : List.of("/from-header", "/canonical", "/refreshed", "/docs/guide.html")) {
+            wireMockServer.stubFor(get(urlEqualTo(path))
+                    .willReturn(aResponse()
+                            .withStatus(200)
+                            .withHeader("Content-Type", "text/html")
+                            .withBody("<html><body><h1>" + path + "</h1></body></html>")));
+        }
+
+        try (WebCrawler crawler = new WebCrawler(10)) {
+            List<String> result = crawler.crawl(baseUrl);
+
+            assertEquals(5, result.size());
+            assertTrue(result.contains(baseUrl + "/from-header"));
+            assertTrue(result.contains(baseUrl + "/canonical"));
+            assertTrue(result.contains(baseUrl + "/refreshed"));
+            // Resolved against <base href>, not the page URL
+            assertTrue(result.contains(baseUrl + "/docs/guide.html"));
+            assertFalse(result.contains(baseUrl + "/logo.png"));
+        }
+    }
+
     @Test
     void crawl_SinglePage_Debug() {
         System.out.println("=== SINGLE PAGE DEBUG TEST ===");
@@ -365,6 +406,113 @@ class WebCrawlerTest {
         assertDoesNotThrow(() -> crawler.close());
     }
 
+    @Test
+    void crawl_Deadline_AbortsInFlightRequestsAndReturnsPartialResult() {
+        wireMockServer.stubFor(get(urlEqualTo("/"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "text/html")
+                        .withBody("<html><body><a href='/stuck'>Stuck</a></body></html>")));
+
+        wireMockServer.stubFor(get(urlEqualTo("/stuck"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody("<html><body>Too late</body></html>")
+                        .withFixedDelay(10_000)));
+
+        try (WebCrawler crawler = new WebCrawler(10)) {
+            long start = System.nanoTime();
+            CrawlResult result = crawler.crawl(List.of(baseUrl), url -> true,
+                    Instant.now().plusMillis(1500), new CancellationToken());
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertEquals(CrawlResult.Status.DEADLINE, result.status());
+            assertTrue(result.isPartial());
+            assertEquals(List.of(baseUrl + "/"), result.urls());
+            assertEquals(1, result.cancelledFetches());
+            assertTrue(result.failedUrls().isEmpty());
+            assertTrue(elapsedMillis < 5000, "Crawl took " + elapsedMillis + "ms");
+        }
+    }
+
+    @Test
+    void crawl_MaxHosts_SeedsOnOtherHostsTakeSlots() {
+        wireMockServer.stubFor(get(urlEqualTo("/"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody("<html><body>Home</body></html>")));
+        String otherHostUrl = "http://127.0.0.1:" + wireMockServer.port();
+        CrawlerConfig config = new CrawlerConfig().setMaxPages(10)
+                .setScopeRules(new ScopeRules().includeHost("localhost").includeHost("127.0.0.1").setMaxHosts(1));
+
+        try (WebCrawler crawler = new WebCrawler(config, PageSink.NONE, null)) {
+            CrawlResult result = crawler.crawl(List.of(otherHostUrl, baseUrl), baseUrl, url -> true,
+                    null, new CancellationToken());
+
+            assertEquals(List.of(baseUrl + "/"), result.urls());
+        }
+    }
+
+    @Test
+    void crawl_ErrorStatus_ReportedAsFailedButRedirectIsNot() {
+        wireMockServer.stubFor(get(urlEqualTo("/"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody("<html><body><a href='/broken'>B</a><a href='/gone'>G</a>"
+                                + "<a href='/moved'>M</a></body></html>")));
+        wireMockServer.stubFor(get(urlEqualTo("/broken")).willReturn(aResponse().withStatus(500)));
+        wireMockServer.stubFor(get(urlEqualTo("/gone")).willReturn(aResponse().withStatus(404)));
+        wireMockServer.stubFor(get(urlEqualTo("/moved"))
+                .willReturn(aResponse().withStatus(301).withHeader("Location", "/")));
+
+        try (WebCrawler crawler = new WebCrawler(10)) {
+            CrawlResult result = crawler.crawl(List.of(baseUrl), url -> true, null, new CancellationToken());
+
+            assertEquals(List.of(baseUrl + "/"), result.urls());
+            assertEquals(2, result.failedUrls().size());
+            assertTrue(result.failedUrls().containsAll(List.of(baseUrl + "/broken", baseUrl + "/gone")));
+        }
+    }
+
+    @Test
+    void crawl_Cancelled_StopsPromptly() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody("<html><body>Slow</body></html>")
+                        .withFixedDelay(10_000)));
+
+        CancellationToken cancellation = new CancellationToken();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (WebCrawler crawler = new WebCrawler(10)) {
+            var pending = executor.submit(() -> crawler.crawl(List.of(baseUrl), url -> true, null, cancellation));
+            Thread.sleep(300);
+            cancellation.cancel();
+
+            CrawlResult result = pending.get(5, TimeUnit.SECONDS);
+            assertEquals(CrawlResult.Status.CANCELLED, result.status());
+            assertTrue(result.urls().isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void crawl_FrontierDrained_ReportsCompleted() {
+        wireMockServer.stubFor(get(urlEqualTo("/"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody("<html><body>No links</body></html>")));
+
+        try (WebCrawler crawler = new WebCrawler(10)) {
+            CrawlResult result = crawler.crawl(List.of(baseUrl), url -> true, null, new CancellationToken());
+
+            assertEquals(CrawlResult.Status.COMPLETED, result.status());
+            assertFalse(result.isPartial());
+            assertEquals(0, result.unvisitedUrls());
+        }
+    }
+
     @Test
     void crawl_HandlesSlowResponses() {
         wireMockServer.stubFor(get(urlEqualTo("/"))
@@ -0,0 +1,106 @@
+package com.sedna.crawler.budget;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrawlBudgetTest {
+
+    @Test
+    void reserve_GlobalLimit_CountsInFlightSlots() {
+        CrawlBudget budget = new CrawlBudget(2);
+
+        CrawlBudget.Reservation first = budget.reserve("example.com", 0);
+        CrawlBudget.Reservation second = budget.reserve("example.com", 1);
+
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNull(budget.reserve("example.com", 1));
+        assertFalse(budget.hasCapacity());
+        assertFalse(budget.isExhausted());
+        assertEquals(2, budget.inFlight());
+    }
+
+    @Test
+    void refund_ReopensSlot_CommitDoesNot() {
+        CrawlBudget budget = new CrawlBudget(2);
+        CrawlBudget.Reservation kept = budget.reserve("example.com", 0);
+        CrawlBudget.Reservation failed = budget.reserve("example.com", 0);
+
+        budget.commit(kept);
+        budget.refund(failed);
+
+        assertTrue(budget.hasCapacity());
+        budget.commit(budget.reserve("example.com", 0));
+        assertTrue(budget.isExhausted());
+        assertEquals(2, budget.committed());
+        assertEquals(0, budget.inFlight());
+    }
+
+    @Test
+    void reserve_PerHostLimit_LeavesGlobalSlotFree() {
+        CrawlBudget budget = new CrawlBudget(10, 1, CrawlBudget.NO_DEPTH_LIMIT, CrawlBudget.NO_LIMIT);
+
+        assertNotNull(budget.reserve("a.example.com", 0));
+        assertNull(budget.reserve("a.example.com", 0));
+        assertEquals(1, budget.inFlight());
+        assertNotNull(budget.reserve("b.example.com", 0));
+    }
+
+    @Test
+    void reserve_DepthLimits() {
+        CrawlBudget budget = new CrawlBudget(10, CrawlBudget.NO_LIMIT, 2, 1);
+
+        assertFalse(budget.allowsDepth(3));
+        assertNull(budget.reserve("example.com", 3));
+
+        CrawlBudget.Reservation depthOne = budget.reserve("example.com", 1);
+        assertNotNull(depthOne);
+        assertNull(budget.reserve("example.com", 1));
+        assertNotNull(budget.reserve("example.com", 2));
+
+        budget.refund(depthOne);
+        assertNotNull(budget.reserve("example.com", 1));
+    }
+
+    @Test
+    void reserve_Concurrent_NeverOvershoots() throws Exception {
+        int maxPages = 1000;
+        CrawlBudget budget = new CrawlBudget(maxPages, 300, CrawlBudget.NO_DEPTH_LIMIT, CrawlBudget.NO_LIMIT);
+        List<Future<?>> workers = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                workers.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 5000; i++) {
+                        CrawlBudget.Reservation reservation = budget.reserve("host" + random.nextInt(5), 0);
+                        if (reservation == null) {
+                            continue;
+                        }
+                        assertTrue(budget.committed() + budget.inFlight() <= maxPages);
+                        if (random.nextInt(4) == 0) {
+                            budget.refund(reservation);
+                        } else {
+                            budget.commit(reservation);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+
+        assertEquals(maxPages, budget.committed());
+        assertEquals(0, budget.inFlight());
+        assertTrue(budget.isExhausted());
+    }
+}
@@ -0,0 +1,108 @@
+package com.sedna.crawler.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FingerprintIndexTest {
+
+    private static String article(String extra) {
+        StringBuilder body = new StringBuilder("<html><body><h1>Quarterly shipping report</h1><p>");
+        for (int i = 0; i < 40; i++) {
+            body.append("Vessel ").append(i).append(" arrived at port with cargo number ").append(i * 7).append(". ");
+        }
+        return body.append("</p>").append(extra).append("</body></html>").toString();
+    }
+
+    @Test
+    void register_ExactDuplicate_ReturnsOriginal() {
+        FingerprintIndex index = new FingerprintIndex();
+        String body = article("");
+
+        assertNull(index.register("https://example.com/report", ContentFingerprint.of(body)));
+        assertEquals("https://example.com/report",
+                index.register("https://example.com/report?print=1", ContentFingerprint.of(body)));
+    }
+
+    @Test
+    void register_NearDuplicate_ReturnsOriginal() {
+        FingerprintIndex index = new FingerprintIndex();
+
+        index.register("https://example.com/report", ContentFingerprint.of(article("<footer>Generated 10:01</footer>")));
+
+        assertEquals("https://example.com/report", index.register("https://example.com/mirror/report",
+                ContentFingerprint.of(article("<footer>Generated 10:02</footer>"))));
+    }
+
+    @Test
+    void register_DifferentPages_AreNotDuplicates() {
+        FingerprintIndex index = new FingerprintIndex();
+
+        index.register("https://example.com/report", ContentFingerprint.of(article("")));
+
+        assertNull(index.register("https://example.com/contact", ContentFingerprint.of(
+                "<html><body>Contact our team by phone or email, offices open Monday to Friday</body></html>")));
+    }
+
+    @Test
+    void register_ShortPages_OnlyMatchExactly() {
+        FingerprintIndex index = new FingerprintIndex();
+
+        index.register("https://example.com/page1", ContentFingerprint.of("<html><body><h1>Page 1</h1></body></html>"));
+
+        assertNull(index.register("https://example.com/page2",
+                ContentFingerprint.of("<html><body><h1>Page 2</h1></body></html>")));
+    }
+
+    @Test
+    void duplicateClusters_GroupsDuplicatesUnderOriginal() {
+        FingerprintIndex index = new FingerprintIndex();
+        ContentFingerprint fingerprint = ContentFingerprint.of(article(""));
+
+        index.register("https://example.com/a", fingerprint);
+        index.register("https://example.com/c", fingerprint);
+        index.register("https://example.com/b", fingerprint);
+
+        assertEquals(Map.of("https://example.com/a", List.of("https://example.com/b", "https://example.com/c")),
+                index.duplicateClusters());
+        assertEquals(2, index.duplicateCount());
+    }
+
+    @Test
+    void register_ExactCopyOfNearDuplicate_GroupsUnderOriginal() {
+        FingerprintIndex index = new FingerprintIndex();
+        ContentFingerprint nearCopy = ContentFingerprint.of(article("<footer>Generated 10:02</footer>"));
+
+        index.register("https://example.com/report", ContentFingerprint.of(article("<footer>Generated 10:01</footer>")));
+        index.register("https://example.com/mirror/report", nearCopy);
+
+        assertEquals("https://example.com/report", index.register("https://example.com/mirror/report?x", nearCopy));
+        assertEquals(Map.of("https://example.com/report",
+                        List.of("https://example.com/mirror/report", "https://example.com/mirror/report?x")),
+                index.duplicateClusters());
+    }
+
+    @Test
+    void fingerprint_IgnoresScriptAndStyle() {
+        String words = "<p>quarterly shipping report for every vessel in port</p>";
+        ContentFingerprint plain = ContentFingerprint.of("<html><body>" + words + "</body></html>");
+        ContentFingerprint templated = ContentFingerprint.of("<html><head><style>body { margin: 0 }</style>"
+                + "<SCRIPT type=\"text/javascript\">var tracking = load('analytics', 42);</SCRIPT>"
+                + "<script src=\"/app.js\"/></head><body>" + words + "</body></html>");
+
+        assertEquals(plain.tokenCount(), templated.tokenCount());
+        assertEquals(0, plain.distance(templated));
+    }
+
+    @Test
+    void fingerprint_IgnoresMarkup() {
+        ContentFingerprint plain = ContentFingerprint.of("<p>same words in the same order here</p>");
+        ContentFingerprint styled = ContentFingerprint.of("<div class=\"x\"><b>same words</b> in the same order here</div>");
+
+        assertNotEquals(plain.exactHash(), styled.exactHash());
+        assertEquals(0, plain.distance(styled));
+    }
+}
@@ -0,0 +1,96 @@
+package com.sedna.crawler.dns;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DnsCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    private InetAddress[] fakeResolve(String host) throws UnknownHostException {
+        lookups.incrementAndGet();
+        if (host.endsWith(".invalid")) {
+            throw new UnknownHostException(host);
+        }
+        // Every subdomain of example.com is served by the same origin
+        byte last = (byte) (host.endsWith("example.com") ? 10 : 20);
+        return new InetAddress[]{InetAddress.getByAddress(host, new byte[]{10, 0, 0, last})};
+    }
+
+    private DnsCache newCache() {
+        return new DnsCache(this::fakeResolve, Duration.ofSeconds(60), Duration.ofSeconds(5), now::get);
+    }
+
+    @Test
+    void resolve_CachesUntilTtlExpires() throws UnknownHostException {
+        DnsCache cache = newCache();
+
+        cache.resolve("example.com");
+        cache.resolve("example.com");
+        assertEquals(1, lookups.get());
+
+        now.addAndGet(Duration.ofSeconds(61).toNanos());
+        cache.resolve("example.com");
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void resolve_CachesFailuresForNegativeTtl() {
+        DnsCache cache = newCache();
+
+        assertThrows(UnknownHostException.class, () -> cache.resolve("missing.invalid"));
+        assertThrows(UnknownHostException.class, () -> cache.resolve("missing.invalid"));
+        assertEquals(1, lookups.get());
+
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertThrows(UnknownHostException.class, () -> cache.resolve("missing.invalid"));
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void primaryAddress_GroupsSubdomainsOnSameServer() throws UnknownHostException {
+        DnsCache cache = newCache();
+
+        assertEquals(cache.primaryAddress("a.example.com"), cache.primaryAddress("b.example.com"));
+        assertNotEquals(cache.primaryAddress("a.example.com"), cache.primaryAddress("other.org"));
+    }
+
+    @Test
+    void prefetch_ResolvesInBackgroundOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger slowLookups = new AtomicInteger();
+        DnsCache cache = new DnsCache(host -> {
+            slowLookups.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new InetAddress[]{InetAddress.getByAddress(host, new byte[]{10, 0, 0, 1})};
+        }, Duration.ofSeconds(60), Duration.ofSeconds(5), now::get);
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            cache.prefetch("example.com", executor);
+            cache.prefetch("example.com", executor);
+            release.countDown();
+
+            assertEquals("10.0.0.1", cache.primaryAddress("example.com"));
+            assertEquals(1, slowLookups.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
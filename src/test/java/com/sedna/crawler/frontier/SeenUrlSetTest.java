@@ -0,0 +1,67 @@
+package com.sedna.crawler.frontier;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeenUrlSetTest {
+
+    @Test
+    void add_SecondTime_ReturnsFalse() {
+        SeenUrlSet seen = new SeenUrlSet();
+
+        assertTrue(seen.add("https://example.com/"));
+        assertFalse(seen.add("https://example.com/"));
+        assertTrue(seen.contains("https://example.com/"));
+        assertFalse(seen.contains("https://example.com/other"));
+        assertEquals(1, seen.size());
+    }
+
+    @Test
+    void add_ManyUrls_GrowsAndKeepsAll() {
+        SeenUrlSet seen = new SeenUrlSet();
+        for (int i = 0; i < 200_000; i++) {
+            assertTrue(seen.add("https://example.com/page" + i));
+        }
+
+        assertEquals(200_000, seen.size());
+        for (int i = 0; i < 200_000; i += 997) {
+            assertTrue(seen.contains("https://example.com/page" + i));
+        }
+        assertFalse(seen.contains("https://example.com/page200000"));
+    }
+
+    @Test
+    void add_ConcurrentTasks_EachUrlAddedOnce() throws Exception {
+        SeenUrlSet seen = new SeenUrlSet();
+        AtomicInteger added = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        if (seen.add("https://example.com/page" + i)) {
+                            added.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(20_000, added.get());
+        assertEquals(20_000, seen.size());
+    }
+}
@@ -0,0 +1,79 @@
+package com.sedna.crawler.frontier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpillingFrontierTest {
+
+    @TempDir
+    Path spillParent;
+
+    @Test
+    void poll_EmptyFrontier_ReturnsNull() throws IOException {
+        try (SpillingFrontier frontier = new SpillingFrontier(10, spillParent)) {
+            assertNull(frontier.poll());
+            assertTrue(frontier.isEmpty());
+        }
+    }
+
+    @Test
+    void pushAndPoll_BeyondWindow_KeepsFifoOrderAndSpills() throws IOException {
+        try (SpillingFrontier frontier = new SpillingFrontier(10, spillParent)) {
+            for (int i = 0; i < 1000; i++) {
+                frontier.push("https://example.com/page" + i, i % 7);
+                assertTrue(frontier.inMemoryCount() <= 15);
+            }
+
+            assertEquals(1000, frontier.size());
+            assertTrue(frontier.spilledCount() > 0);
+
+            for (int i = 0; i < 1000; i++) {
+                SpillingFrontier.Entry entry = frontier.poll();
+                assertEquals("https://example.com/page" + i, entry.url());
+                assertEquals(i % 7, entry.depth());
+                assertTrue(frontier.inMemoryCount() <= 15);
+            }
+            assertNull(frontier.poll());
+        }
+    }
+
+    @Test
+    void pushAndPoll_Interleaved_KeepsFifoOrder() throws IOException {
+        try (SpillingFrontier frontier = new SpillingFrontier(4, spillParent)) {
+            int pushed = 0;
+            int polled = 0;
+            for (int round = 0; round < 50; round++) {
+                for (int i = 0; i < 5; i++) {
+                    frontier.push("u" + pushed++, 0);
+                }
+                for (int i = 0; i < 3; i++) {
+                    assertEquals("u" + polled++, frontier.poll().url());
+                }
+            }
+            while (!frontier.isEmpty()) {
+                assertEquals("u" + polled++, frontier.poll().url());
+            }
+            assertEquals(pushed, polled);
+        }
+    }
+
+    @Test
+    void close_RemovesSegmentFiles() throws IOException {
+        SpillingFrontier frontier = new SpillingFrontier(4, spillParent);
+        for (int i = 0; i < 100; i++) {
+            frontier.push("https://example.com/" + i, 1);
+        }
+        frontier.close();
+
+        try (Stream<Path> files = Files.walk(spillParent)) {
+            assertEquals(1, files.count(), "Only the parent directory should remain");
+        }
+    }
+}
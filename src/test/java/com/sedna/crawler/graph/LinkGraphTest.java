@@ -0,0 +1,95 @@
+package com.sedna.crawler.graph;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinkGraphTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void addPage_InternsUrlsAndDeduplicatesTargets() {
+        LinkGraph graph = new LinkGraph();
+        graph.addPage("https://example.com/", List.of("https://example.com/b", "https://example.com/a",
+                "https://example.com/b"));
+        graph.addPage("https://example.com/a", List.of("https://example.com/"));
+
+        assertEquals(3, graph.nodeCount());
+        assertEquals(3, graph.edgeCount());
+
+        int root = graph.idOf("https://example.com/");
+        int a = graph.idOf("https://example.com/a");
+        int b = graph.idOf("https://example.com/b");
+        assertArrayEquals(new int[]{Math.min(a, b), Math.max(a, b)}, graph.successors(root));
+        assertArrayEquals(new int[]{root}, graph.successors(a));
+        assertArrayEquals(new int[0], graph.successors(b));
+        assertEquals(-1, graph.idOf("https://example.com/unknown"));
+    }
+
+    @Test
+    void addPage_SamePageTwice_KeepsFirstList() {
+        LinkGraph graph = new LinkGraph();
+        graph.addPage("https://example.com/", List.of("https://example.com/a"));
+        graph.addPage("https://example.com/", List.of("https://example.com/b"));
+
+        assertEquals(1, graph.edgeCount());
+        assertEquals(-1, graph.idOf("https://example.com/b"));
+    }
+
+    @Test
+    void successors_LargeIdGaps_RoundTrip() {
+        LinkGraph graph = new LinkGraph();
+        List<String> outlinks = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            outlinks.add("https://example.com/" + i);
+        }
+        graph.addPage("https://example.com/hub", outlinks);
+        graph.addPage("https://example.com/sparse", List.of("https://example.com/4999", "https://example.com/0"));
+
+        int[] targets = graph.successors(graph.idOf("https://example.com/sparse"));
+        assertEquals("https://example.com/0", graph.urlOf(targets[0]));
+        assertEquals("https://example.com/4999", graph.urlOf(targets[1]));
+        assertEquals(5000, graph.successors(graph.idOf("https://example.com/hub")).length);
+        // Dense adjacency costs about a byte per edge; the URL table dominates the total
+        assertTrue(graph.adjacencyBytesPerMillionEdges() < 2_000_000, "Got " + graph.adjacencyBytesPerMillionEdges());
+        assertTrue(graph.urlTableBytes() > 5001L * 100);
+        assertTrue(graph.bytesPerMillionEdges() > 50 * graph.adjacencyBytesPerMillionEdges());
+    }
+
+    @Test
+    void writeCsr_ReadCsr_RoundTrip() throws IOException {
+        LinkGraph graph = new LinkGraph();
+        graph.addPage("https://example.com/", List.of("https://example.com/a", "https://example.com/b"));
+        graph.addPage("https://example.com/b", List.of("https://example.com/a"));
+
+        Path file = dir.resolve("graph.csr");
+        graph.writeCsr(file);
+        LinkGraph.Csr csr = LinkGraph.readCsr(file);
+
+        assertEquals(List.of(graph.toCsr().urls()), List.of(csr.urls()));
+        assertArrayEquals(graph.toCsr().offsets(), csr.offsets());
+        assertArrayEquals(graph.toCsr().targets(), csr.targets());
+        assertEquals(3, csr.targets().length);
+    }
+
+    @Test
+    void writeEdgeList_WritesNodesAndEdgesById() throws IOException {
+        LinkGraph graph = new LinkGraph();
+        graph.addPage("https://example.com/", List.of("https://example.com/a"));
+
+        graph.writeEdgeList(dir.resolve("nodes.tsv"), dir.resolve("edges.tsv"));
+
+        assertEquals(List.of("0\thttps://example.com/", "1\thttps://example.com/a"),
+                Files.readAllLines(dir.resolve("nodes.tsv")));
+        assertEquals(List.of("0\t1"), Files.readAllLines(dir.resolve("edges.tsv")));
+    }
+}
@@ -0,0 +1,85 @@
+package com.sedna.crawler.harness;
+
+import com.sedna.crawler.CrawlStats;
+import com.sedna.crawler.CrawlerConfig;
+import com.sedna.crawler.WebCrawler;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Drives WebCrawler against a SyntheticWeb and reports throughput and resource use.
+// Run from the IDE or with: java ... LoadHarness [pages] [maxPages] [seed] [latencyMs]
+public class LoadHarness {
+
+    public record Report(int pagesCrawled, double seconds, long serverRequests, long duplicateRequests,
+                         long peakHeapBytes, int peakThreads) {
+
+        public double pagesPerSecond() {
+            return pagesCrawled / Math.max(seconds, 1e-9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "{\"pagesCrawled\":%d,\"seconds\":%.2f,\"pagesPerSecond\":%.1f,\"serverRequests\":%d,"
+                            + "\"duplicateRequests\":%d,\"peakHeapMb\":%.1f,\"peakPlatformThreads\":%d}",
+                    pagesCrawled, seconds, pagesPerSecond(), serverRequests, duplicateRequests,
+                    peakHeapBytes / 1048576.0, peakThreads);
+        }
+    }
+
+    public static Report run(SyntheticWeb.Spec spec, CrawlerConfig config) throws IOException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        AtomicLong peakHeap = new AtomicLong();
+
+        try (SyntheticWeb web = new SyntheticWeb(spec)) {
+            System.gc();
+            threads.resetPeakThreadCount();
+
+            Thread sampler = Thread.ofPlatform().daemon().name("heap-sampler").start(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+
+            CrawlStats stats = new CrawlStats();
+            List<String> crawled;
+            try (WebCrawler crawler = new WebCrawler(config, stats)) {
+                crawled = crawler.crawl(web.baseUrl());
+            } finally {
+                stats.stop();
+                sampler.interrupt();
+            }
+
+            return new Report(crawled.size(), stats.getElapsedSeconds(), web.totalRequests(),
+                    web.duplicateRequests(), peakHeap.get(), threads.getPeakThreadCount());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int pages = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int maxPages = args.length > 1 ? Integer.parseInt(args[1]) : pages;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+        int latencyMs = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+
+        SyntheticWeb.Spec spec = SyntheticWeb.Spec.of(seed, pages).withLatency(Duration.ofMillis(latencyMs));
+        CrawlerConfig config = new CrawlerConfig()
+                .setMaxPages(maxPages)
+                .setMaxConcurrentRequestsPerHost(64)
+                .setVerbose(false);
+
+        System.out.println(run(spec, config));
+    }
+}
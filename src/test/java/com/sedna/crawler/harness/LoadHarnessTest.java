@@ -0,0 +1,43 @@
+package com.sedna.crawler.harness;
+
+import com.sedna.crawler.CrawlerConfig;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadHarnessTest {
+
+    @Test
+    void syntheticWeb_SameSeed_ServesSameSite() throws IOException {
+        try (SyntheticWeb first = new SyntheticWeb(SyntheticWeb.Spec.of(7, 1000));
+             SyntheticWeb second = new SyntheticWeb(SyntheticWeb.Spec.of(7, 1000));
+             SyntheticWeb other = new SyntheticWeb(SyntheticWeb.Spec.of(8, 1000))) {
+
+            for (int id = 0; id < 50; id++) {
+                assertEquals(first.render("/p/" + id), second.render("/p/" + id));
+            }
+            assertNotEquals(first.render("/p/1"), other.render("/p/1"));
+        }
+    }
+
+    @Test
+    void run_StaysWithinBudgetWithoutDuplicateFetches() throws IOException {
+        SyntheticWeb.Spec spec = SyntheticWeb.Spec.of(42, 2_000)
+                                                  .withFaults(0.02, Duration.ofMillis(50), 0.02);
+        CrawlerConfig config = new CrawlerConfig()
+                .setMaxPages(300)
+                .setMaxConcurrentRequestsPerHost(32)
+                .setVerbose(false);
+
+        LoadHarness.Report report = LoadHarness.run(spec, config);
+        System.out.println("Load harness: " + report);
+
+        assertTrue(report.pagesCrawled() > 0);
+        assertTrue(report.pagesCrawled() <= 300, "Crawled " + report.pagesCrawled());
+        assertEquals(0, report.duplicateRequests(), "Same URL fetched more than once");
+        assertTrue(report.pagesPerSecond() > 0);
+    }
+}
@@ -0,0 +1,211 @@
+package com.sedna.crawler.harness;
+
+import com.sedna.crawler.utils.HashUtils;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Seedable in-process website. Pages are generated on request from (seed, path), so the graph
+// costs no memory and the same seed always serves the same site:
+//   /p/{id}             link graph with power-law outdegree, targets skewed towards low ids
+//   /tree/{depth}/{i}   binary tree treeDepth levels deep
+//   /trap/{n}           endless calendar-style chain, every page links to the next
+// A seeded fraction of graph pages is slow or fails with 500.
+public class SyntheticWeb implements AutoCloseable {
+
+    public record Spec(long seed, int pages, double outdegreeAlpha, int maxOutdegree, int treeDepth,
+                       boolean traps, double slowFraction, Duration slowDelay, double failFraction,
+                       Duration baseLatency) {
+
+        public static Spec of(long seed, int pages) {
+            return new Spec(seed, pages, 1.5, 200, 12, true, 0.01, Duration.ofMillis(200), 0.01, Duration.ZERO);
+        }
+
+        public Spec withLatency(Duration baseLatency) {
+            return new Spec(seed, pages, outdegreeAlpha, maxOutdegree, treeDepth, traps,
+                    slowFraction, slowDelay, failFraction, baseLatency);
+        }
+
+        public Spec withFaults(double slowFraction, Duration slowDelay, double failFraction) {
+            return new Spec(seed, pages, outdegreeAlpha, maxOutdegree, treeDepth, traps,
+                    slowFraction, slowDelay, failFraction, baseLatency);
+        }
+    }
+
+    private final Spec spec;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ConcurrentHashMap<String, AtomicInteger> requestsByTarget = new ConcurrentHashMap<>();
+    private final LongAdder totalRequests = new LongAdder();
+
+    public SyntheticWeb(Spec spec) throws IOException {
+        this.spec = spec;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public long totalRequests() {
+        return totalRequests.sum();
+    }
+
+    public int distinctRequests() {
+        return requestsByTarget.size();
+    }
+
+    // Requests for a target that had already been served
+    public long duplicateRequests() {
+        return totalRequests() - distinctRequests();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String target = exchange.getRequestURI().toString();
+        totalRequests.increment();
+        requestsByTarget.computeIfAbsent(target, k -> new AtomicInteger()).incrementAndGet();
+
+        try (exchange) {
+            sleep(spec.baseLatency());
+            String path = exchange.getRequestURI().getPath();
+            Page page = render(path);
+            if (page.delay() != null) {
+                sleep(page.delay());
+            }
+
+            byte[] body = page.html() == null ? new byte[0] : page.html().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(page.status(), body.length == 0 ? -1 : body.length);
+            if (body.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        }
+    }
+
+    private record Page(int status, String html, Duration delay) {
+    }
+
+    Page render(String path) {
+        String[] parts = path.split("/");
+        try {
+            if (path.equals("/")) {
+                return graphPage(0);
+            }
+            if (parts.length == 3 && parts[1].equals("p")) {
+                int id = Integer.parseInt(parts[2]);
+                return id >= 0 && id < spec.pages() ? graphPage(id) : notFound();
+            }
+            if (parts.length == 4 && parts[1].equals("tree")) {
+                return treePage(Integer.parseInt(parts[2]), Long.parseLong(parts[3]));
+            }
+            if (parts.length == 3 && parts[1].equals("trap") && spec.traps()) {
+                return trapPage(Long.parseLong(parts[2]));
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to 404
+        }
+        return notFound();
+    }
+
+    private static Page notFound() {
+        return new Page(404, null, null);
+    }
+
+    private SplittableRandom randomFor(long salt, long id) {
+        return new SplittableRandom(HashUtils.mix64(spec.seed() * 0x9e3779b97f4a7c15L + salt * 31 + id));
+    }
+
+    private Page graphPage(int id) {
+        SplittableRandom random = randomFor(1, id);
+        if (id != 0 && random.nextDouble() < spec.failFraction()) {
+            return new Page(500, null, null);
+        }
+        Duration delay = random.nextDouble() < spec.slowFraction() ? spec.slowDelay() : null;
+
+        // Pareto-distributed outdegree, at least one link
+        double u = 1 - random.nextDouble();
+        int outdegree = (int) Math.min(spec.maxOutdegree(), Math.floor(Math.pow(u, -1 / spec.outdegreeAlpha())));
+
+        StringBuilder html = header("Page " + id);
+        for (int i = 0; i < outdegree; i++) {
+            // Squaring skews targets towards low ids, like popular pages on a real site
+            double r = random.nextDouble();
+            int target = (int) (spec.pages() * r * r);
+            link(html, "/p/" + target);
+        }
+        if (id == 0) {
+            link(html, "/tree/0/0");
+            if (spec.traps()) {
+                link(html, "/trap/0");
+            }
+        }
+        return new Page(200, footer(html, id), delay);
+    }
+
+    private Page treePage(int depth, long index) {
+        if (depth < 0 || depth > spec.treeDepth()) {
+            return notFound();
+        }
+        StringBuilder html = header("Tree " + depth + "/" + index);
+        if (depth < spec.treeDepth()) {
+            link(html, "/tree/" + (depth + 1) + "/" + (index * 2));
+            link(html, "/tree/" + (depth + 1) + "/" + (index * 2 + 1));
+        }
+        return new Page(200, footer(html, depth * 1_000_003L + index), null);
+    }
+
+    private Page trapPage(long n) {
+        StringBuilder html = header("Calendar " + n);
+        link(html, "/trap/" + (n + 1));
+        link(html, "/trap/" + (n + 1) + "?view=week");
+        return new Page(200, footer(html, n), null);
+    }
+
+    private static StringBuilder header(String title) {
+        return new StringBuilder(512).append("<html><head><title>").append(title)
+                                     .append("</title></head><body><h1>").append(title).append("</h1>\n");
+    }
+
+    private static void link(StringBuilder html, String href) {
+        html.append("<a href=\"").append(href).append("\">").append(href).append("</a>\n");
+    }
+
+    private static String footer(StringBuilder html, long id) {
+        return html.append("<p>Synthetic content block ").append(id).append("</p></body></html>").toString();
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
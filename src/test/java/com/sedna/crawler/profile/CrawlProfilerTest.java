@@ -0,0 +1,77 @@
+package com.sedna.crawler.profile;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrawlProfilerTest {
+
+    @Test
+    void start_Disabled_RecordsNothing() {
+        CrawlProfiler profiler = new CrawlProfiler(false);
+        profiler.queued("https://example.com/", null);
+
+        try (CrawlProfiler.Span ignored = profiler.start(Stage.PARSE, "https://example.com/")) {
+            // Nothing to time
+        }
+        profiler.finished("https://example.com/");
+
+        assertEquals(0, profiler.histogram(Stage.PARSE).count());
+        assertTrue(profiler.criticalPath().isEmpty());
+    }
+
+    @Test
+    void close_Twice_RecordsOnce() {
+        CrawlProfiler profiler = new CrawlProfiler(true);
+
+        CrawlProfiler.Span span = profiler.start(Stage.REQUEST, "https://example.com/");
+        span.close();
+        span.close();
+
+        assertEquals(1, profiler.histogram(Stage.REQUEST).count());
+    }
+
+    @Test
+    void start_Enabled_RecordsStageDuration() throws InterruptedException {
+        CrawlProfiler profiler = new CrawlProfiler(true);
+
+        try (CrawlProfiler.Span ignored = profiler.start(Stage.PAUSE, "https://example.com/")) {
+            Thread.sleep(20);
+        }
+
+        assertEquals(1, profiler.histogram(Stage.PAUSE).count());
+        assertTrue(profiler.histogram(Stage.PAUSE).totalMicros() >= 20_000);
+        assertTrue(profiler.report().contains("politeness pause"));
+    }
+
+    @Test
+    void criticalPath_FollowsDiscoveryChainOfLastPage() throws InterruptedException {
+        CrawlProfiler profiler = new CrawlProfiler(true);
+        String seed = "https://example.com/";
+        String early = "https://example.com/early";
+        String middle = "https://example.com/middle";
+        String last = "https://example.com/middle/last";
+
+        profiler.queued(seed, null);
+        profiler.started(seed);
+        profiler.queued(early, seed);
+        profiler.queued(middle, seed);
+        profiler.finished(seed);
+
+        profiler.started(early);
+        profiler.finished(early);
+        profiler.started(middle);
+        profiler.queued(last, middle);
+        profiler.finished(middle);
+
+        Thread.sleep(5);
+        profiler.started(last);
+        profiler.finished(last);
+
+        assertEquals(List.of(seed, middle, last), profiler.criticalPath());
+        assertEquals(4, profiler.histogram(Stage.QUEUED).count());
+        assertTrue(profiler.report().contains("Critical path: 3 pages"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.sedna.crawler.recrawl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecrawlSchedulerTest {
+    private static final long DAY = 86_400_000L;
+
+    private final RecrawlScheduler scheduler = new RecrawlScheduler(1.0, 0.2);
+
+    @Test
+    void changesPerDay_NoRevisits_UsesPrior() {
+        UrlHistory entry = new UrlHistory("https://example.com/", 0, 0, 1L, 1, 0, 0);
+
+        assertEquals(1.0, scheduler.changesPerDay(entry), 1e-9);
+    }
+
+    @Test
+    void changesPerDay_FrequentChanges_RateExceedsRarelyChanging() {
+        UrlHistory volatilePage = new UrlHistory("https://example.com/news", 0, 10 * DAY, 1L, 11, 10, 0);
+        UrlHistory stablePage = new UrlHistory("https://example.com/about", 0, 10 * DAY, 1L, 11, 0, 0);
+
+        assertTrue(scheduler.changesPerDay(volatilePage) > 1.0);
+        assertTrue(scheduler.changesPerDay(stablePage) < 0.1);
+        assertTrue(scheduler.changesPerDay(stablePage) > 0);
+    }
+
+    @Test
+    void changeProbability_GrowsWithTimeSinceLastFetch() {
+        UrlHistory entry = new UrlHistory("https://example.com/", 0, 0, 1L, 1, 0, 0);
+
+        assertEquals(0, scheduler.changeProbability(entry, 0), 1e-9);
+        assertTrue(scheduler.changeProbability(entry, DAY) > scheduler.changeProbability(entry, DAY / 2));
+        assertEquals(1 - Math.exp(-1), scheduler.changeProbability(entry, DAY), 1e-9);
+    }
+
+    @Test
+    void select_OrdersByProbabilityAndRespectsBudget() {
+        long now = 20 * DAY;
+        List<UrlHistory> candidates = List.of(
+                new UrlHistory("https://example.com/stable", 0, 10 * DAY, 1L, 11, 0, 0),
+                new UrlHistory("https://example.com/news", 0, 10 * DAY, 1L, 11, 10, 0),
+                new UrlHistory("https://example.com/blog", 0, 10 * DAY, 1L, 11, 3, 0),
+                new UrlHistory("https://example.com/fresh", 0, now, 1L, 11, 10, 0));
+
+        assertEquals(List.of("https://example.com/news", "https://example.com/blog"),
+                scheduler.select(candidates, 2, now));
+        // Just fetched, so nothing can have changed yet
+        assertFalse(scheduler.select(candidates, 10, now).contains("https://example.com/fresh"));
+    }
+}
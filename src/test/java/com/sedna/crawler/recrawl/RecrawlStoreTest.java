@@ -0,0 +1,61 @@
+package com.sedna.crawler.recrawl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecrawlStoreTest {
+
+    @TempDir
+    Path stateDir;
+
+    @Test
+    void record_CountsFetchesAndChanges() throws IOException {
+        RecrawlStore store = new RecrawlStore(stateDir.resolve("history.tsv"));
+
+        store.record("https://example.com/", 1L);
+        store.record("https://example.com/", 1L);
+        store.record("https://example.com/", 2L);
+
+        UrlHistory entry = store.get("https://example.com/");
+        assertEquals(3, entry.fetchCount());
+        assertEquals(1, entry.changeCount());
+        assertEquals(2L, entry.contentHash());
+    }
+
+    @Test
+    void save_RoundTripsHistory() throws IOException {
+        Path file = stateDir.resolve("history.tsv");
+        Clock clock = Clock.fixed(Instant.ofEpochMilli(1_000), ZoneOffset.UTC);
+        RecrawlStore store = new RecrawlStore(file, clock);
+        store.record("https://example.com/a", -42L);
+        store.record("https://other.com/b", 7L);
+        store.save();
+
+        RecrawlStore reloaded = new RecrawlStore(file, clock);
+
+        assertEquals(2, reloaded.size());
+        assertEquals(store.get("https://example.com/a"), reloaded.get("https://example.com/a"));
+        assertEquals(1, reloaded.inDomain("example.com").size());
+    }
+
+    @Test
+    void recordMiss_DropsUrlAfterRepeatedMisses() throws IOException {
+        RecrawlStore store = new RecrawlStore(stateDir.resolve("history.tsv"));
+        store.record("https://example.com/gone", 1L);
+
+        store.recordMiss("https://example.com/gone");
+        store.recordMiss("https://example.com/gone");
+        assertTrue(store.contains("https://example.com/gone"));
+
+        store.recordMiss("https://example.com/gone");
+        assertFalse(store.contains("https://example.com/gone"));
+    }
+}
@@ -0,0 +1,181 @@
+package com.sedna.crawler.scope;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScopePolicyTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "https://example.com/, true",
+            "https://blog.example.com/post, true",
+            "https://example.com:8443/a, true",
+            "https://notexample.com/, false",
+            "https://example.org/, false",
+    })
+    void isInScope_DefaultRules_SeedHostAndSubdomains(String url, boolean expected) {
+        ScopePolicy scope = ScopePolicy.compile(new ScopeRules(), "example.com");
+
+        assertEquals(expected, scope.isInScope(url));
+    }
+
+    @Test
+    void isInScope_HostPatterns() {
+        ScopeRules rules = new ScopeRules()
+                .includeHost("=example.com")
+                .includeHost("*.cdn.net")
+                .includeHost("docs.example.org")
+                .excludeHost("private.docs.example.org");
+        ScopePolicy scope = ScopePolicy.compile(rules, "example.com");
+
+        assertTrue(scope.isInScope("https://example.com/"));
+        assertFalse(scope.isInScope("https://www.example.com/"));
+        assertTrue(scope.isInScope("https://img.cdn.net/a.png"));
+        assertFalse(scope.isInScope("https://cdn.net/"));
+        assertTrue(scope.isInScope("https://api.docs.example.org/"));
+        assertFalse(scope.isInScope("https://private.docs.example.org/"));
+        assertFalse(scope.isInScope("https://a.private.docs.example.org/"));
+    }
+
+    @Test
+    void isInScope_PathPrefixes() {
+        ScopeRules rules = new ScopeRules().includePath("/docs").excludePath("/docs/internal");
+        ScopePolicy scope = ScopePolicy.compile(rules, "example.com");
+
+        assertTrue(scope.isInScope("https://example.com/docs"));
+        assertTrue(scope.isInScope("https://example.com/docs/guide?page=/docs/internal"));
+        assertFalse(scope.isInScope("https://example.com/docs/internal/keys"));
+        assertFalse(scope.isInScope("https://example.com/blog?next=/docs"));
+    }
+
+    @Test
+    void isInScope_UrlPatterns() {
+        ScopeRules rules = new ScopeRules()
+                .excludeUrlPattern("[?&]sessionid=")
+                .excludeUrlPattern("\\.pdf$")
+                .includeUrlPattern("/20\\d\\d/");
+        ScopePolicy scope = ScopePolicy.compile(rules, "example.com");
+
+        assertTrue(scope.isInScope("https://example.com/2024/post"));
+        assertFalse(scope.isInScope("https://example.com/about"));
+        assertFalse(scope.isInScope("https://example.com/2024/post?sessionid=1"));
+        assertFalse(scope.isInScope("https://example.com/2024/paper.pdf"));
+    }
+
+    @Test
+    void isInScope_RegisteredDomainScope() {
+        ScopeRules rules = new ScopeRules().setRegisteredDomainScope(true);
+
+        ScopePolicy scope = ScopePolicy.compile(rules, "www.example.co.uk");
+        assertTrue(scope.isInScope("https://shop.example.co.uk/"));
+        assertFalse(scope.isInScope("https://other.co.uk/"));
+
+        ScopePolicy hosted = ScopePolicy.compile(rules, "alice.github.io");
+        assertTrue(hosted.isInScope("https://alice.github.io/repo"));
+        assertFalse(hosted.isInScope("https://bob.github.io/"));
+    }
+
+    @Test
+    void admitHost_MaxHosts_AdmitsFirstFetchedHostsOnly() {
+        ScopePolicy scope = ScopePolicy.compile(new ScopeRules().setMaxHosts(3), "example.com");
+
+        // Links alone do not take a slot
+        assertTrue(scope.isInScope("https://a.example.com/"));
+        assertTrue(scope.isInScope("https://b.example.com/"));
+        assertTrue(scope.isInScope("https://c.example.com/"));
+
+        assertTrue(scope.admitHost("b.example.com"));
+        assertTrue(scope.admitHost("a.example.com"));
+        assertFalse(scope.admitHost("c.example.com"));
+        assertTrue(scope.admitHost("a.example.com"));
+        assertFalse(scope.isInScope("https://c.example.com/"));
+        assertTrue(scope.isInScope("https://b.example.com/other"));
+        assertTrue(scope.isInScope("https://example.com/"));
+    }
+
+    @Test
+    void isInScope_MaxHostsOne_SubdomainLinkSeenFirst_KeepsSeedHost() {
+        ScopePolicy scope = ScopePolicy.compile(new ScopeRules().setMaxHosts(1), "example.com");
+
+        assertFalse(scope.isInScope("https://www.example.com/"));
+        assertFalse(scope.admitHost("www.example.com"));
+        assertTrue(scope.isInScope("https://example.com/about"));
+        assertTrue(scope.admitHost("example.com"));
+        // Out-of-scope hosts are rejected by the rules before the limit
+        assertFalse(scope.isInScope("https://example.org/"));
+    }
+
+    @Test
+    void isInScope_ThousandsOfRules() {
+        ScopeRules rules = new ScopeRules();
+        for (int i = 0; i < 5_000; i++) {
+            rules.includeHost("site" + i + ".example")
+                    .excludePath("/blocked/" + i + "/")
+                    .excludeUrlPattern("token" + i + "=");
+        }
+        ScopePolicy scope = ScopePolicy.compile(rules, "ignored.example");
+
+        assertTrue(scope.isInScope("https://www.site4999.example/page"));
+        assertFalse(scope.isInScope("https://site5000.example/"));
+        assertFalse(scope.isInScope("https://site1.example/blocked/42/x"));
+        assertFalse(scope.isInScope("https://site1.example/?token2500=x"));
+    }
+
+    @Test
+    void urlPatterns_LiteralsAndRegexes() {
+        UrlPatternSet patterns = UrlPatternSet.compile(List.of("abcd", "bc", "\\?print=", "\\.pdf$"));
+
+        assertTrue(patterns.find("https://example.com/xbcx"));
+        assertTrue(patterns.find("https://example.com/a?print=1"));
+        assertTrue(patterns.find("https://example.com/a.pdf"));
+        assertFalse(patterns.find("https://example.com/a.pdf?x=1"));
+        assertEquals("?print=", UrlPatternSet.literal("\\?print="));
+        assertNull(UrlPatternSet.literal("\\d+"));
+        assertNull(UrlPatternSet.literal("[?&]id="));
+    }
+
+    @Test
+    void reverseLabels() {
+        assertEquals("com.example.www", ScopePolicy.reverseLabels("www.example.com"));
+        assertEquals("localhost", ScopePolicy.reverseLabels("localhost"));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "www.example.com, example.com",
+            "example.com, example.com",
+            "a.b.example.co.uk, example.co.uk",
+            "alice.github.io, alice.github.io",
+            "foo.bar.ck, foo.bar.ck",
+            "www.ck, www.ck",
+            "127.0.0.1, 127.0.0.1",
+    })
+    void registeredDomain(String host, String expected) {
+        assertEquals(expected, PublicSuffixList.builtIn().registeredDomain(host));
+    }
+
+    @Test
+    void registeredDomain_PublicSuffixItself_IsNull() {
+        PublicSuffixList suffixes = PublicSuffixList.parse(List.of("// comment", "co.uk", "*.ck", "!www.ck"));
+
+        assertNull(suffixes.registeredDomain("co.uk"));
+        assertNull(suffixes.registeredDomain("bar.ck"));
+        assertNull(suffixes.registeredDomain("localhost"));
+    }
+
+    @Test
+    void hostPattern_Invalid_Throws() {
+        ScopeRules rules = new ScopeRules();
+
+        assertThrows(IllegalArgumentException.class, () -> rules.includeHost("*.*.example.com"));
+        assertThrows(IllegalArgumentException.class, () -> rules.excludeHost(".example.com"));
+        assertThrows(IllegalArgumentException.class, () -> rules.includePath("docs"));
+        assertThrows(IllegalArgumentException.class, () -> rules.excludeUrlPattern("("));
+        assertThrows(IllegalArgumentException.class, () -> rules.setMaxHosts(-1));
+    }
+}
@@ -0,0 +1,171 @@
+package com.sedna.crawler.sink;
+
+import com.sedna.crawler.CrawledPage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WarcPageSinkTest {
+
+    @TempDir
+    Path archiveDir;
+
+    private static CrawledPage page(String url, String body) {
+        HttpHeaders headers = HttpHeaders.of(Map.of("content-type", List.of("text/html")), (k, v) -> true);
+        return new CrawledPage(url, 200, headers, body.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8, 0);
+    }
+
+    @Test
+    void accept_WritesRecordsReadableThroughIndex() throws IOException {
+        try (WarcPageSink sink = new WarcPageSink(archiveDir)) {
+            sink.accept(page("https://example.com/", "<html>home</html>"));
+            sink.accept(page("https://example.com/about", "<html>about</html>"));
+        }
+
+        List<WarcPageSink.IndexEntry> index = WarcPageSink.readIndex(archiveDir);
+        assertEquals(2, index.size());
+
+        WarcPageSink.IndexEntry about = index.get(1);
+        assertEquals("https://example.com/about", about.url());
+
+        String record = new String(WarcPageSink.readRecord(archiveDir, about), StandardCharsets.UTF_8);
+        assertTrue(record.startsWith("WARC/1.1\r\n"));
+        assertTrue(record.contains("WARC-Target-URI: https://example.com/about"));
+        assertTrue(record.contains("HTTP/1.1 200 \r\ncontent-type: text/html\r\n"));
+        assertTrue(record.contains("<html>about</html>"));
+    }
+
+    @Test
+    void accept_RollsToNewFileWhenFull() throws IOException {
+        try (WarcPageSink sink = new WarcPageSink(archiveDir, 200, 16)) {
+            for (int i = 0; i < 5; i++) {
+                sink.accept(page("https://example.com/page" + i, "<html>page " + i + "</html>"));
+            }
+        }
+
+        try (Stream<Path> files = Files.list(archiveDir)) {
+            assertTrue(files.filter(f -> f.toString().endsWith(".warc.gz")).count() > 1);
+        }
+
+        for (WarcPageSink.IndexEntry entry : WarcPageSink.readIndex(archiveDir)) {
+            String record = new String(WarcPageSink.readRecord(archiveDir, entry), StandardCharsets.UTF_8);
+            assertTrue(record.contains("WARC-Target-URI: " + entry.url()));
+        }
+    }
+
+    @Test
+    void constructor_EarlierFileDeleted_ContinuesAfterHighestNumber() throws IOException {
+        try (WarcPageSink sink = new WarcPageSink(archiveDir, 200, 16)) {
+            for (int i = 0; i < 3; i++) {
+                sink.accept(page("https://example.com/page" + i, "<html>page " + i + "</html>"));
+            }
+        }
+        Files.delete(archiveDir.resolve("crawl-00000.warc.gz"));
+
+        try (WarcPageSink sink = new WarcPageSink(archiveDir, 200, 16)) {
+            sink.accept(page("https://example.com/again", "<html>again</html>"));
+        }
+
+        List<WarcPageSink.IndexEntry> index = WarcPageSink.readIndex(archiveDir);
+        WarcPageSink.IndexEntry again = index.get(index.size() - 1);
+        assertEquals("https://example.com/again", again.url());
+        assertTrue(new String(WarcPageSink.readRecord(archiveDir, again), StandardCharsets.UTF_8)
+                .contains("<html>again</html>"));
+    }
+
+    @Test
+    void andThen_Close_ClosesArchive() throws IOException {
+        WarcPageSink archive = new WarcPageSink(archiveDir);
+        PageSink failing = new PageSink() {
+            @Override
+            public void accept(CrawledPage page) {
+            }
+
+            @Override
+            public void close() {
+                throw new IllegalStateException("close failed");
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> failing.andThen(archive).close());
+        assertThrows(IllegalStateException.class, () -> archive.accept(page("https://example.com/", "x")));
+    }
+
+    @Test
+    void accept_ConcurrentProducers_AllRecordsIndexed() throws Exception {
+        try (WarcPageSink sink = new WarcPageSink(archiveDir, 1 << 20, 8)) {
+            Thread[] producers = new Thread[8];
+            for (int t = 0; t < producers.length; t++) {
+                int thread = t;
+                producers[t] = Thread.ofVirtual().start(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        sink.accept(page("https://example.com/" + thread + "/" + i, "body " + i));
+                    }
+                });
+            }
+            for (Thread producer : producers) {
+                producer.join();
+            }
+        }
+
+        assertEquals(400, WarcPageSink.readIndex(archiveDir).size());
+    }
+
+    @Test
+    void accept_AfterClose_Throws() throws IOException {
+        WarcPageSink sink = new WarcPageSink(archiveDir);
+        sink.close();
+
+        assertThrows(IllegalStateException.class,
+                () -> sink.accept(page("https://example.com/", "x")));
+    }
+
+    @Test
+    void toWarcRecord_DecodedBody_RenamesWireHeaders() throws IOException {
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write("<html>zipped</html>".getBytes(StandardCharsets.UTF_8));
+        }
+        HttpHeaders headers = HttpHeaders.of(Map.of(
+                "content-encoding", List.of("gzip"),
+                "transfer-encoding", List.of("chunked"),
+                "content-length", List.of("999")), (k, v) -> true);
+        CrawledPage page = new CrawledPage("https://example.com/", 200, headers, gzipped.toByteArray(),
+                StandardCharsets.UTF_8, 0);
+
+        String record = new String(WarcPageSink.toWarcRecord(page), StandardCharsets.UTF_8);
+
+        assertTrue(record.contains("X-Crawler-content-encoding: gzip\r\n"));
+        assertTrue(record.contains("X-Crawler-transfer-encoding: chunked\r\n"));
+        assertTrue(record.contains("X-Crawler-content-length: 999\r\n"));
+        assertTrue(record.contains("Content-Length: 19\r\n\r\n<html>zipped</html>"));
+        assertFalse(record.contains("\r\ncontent-encoding:"));
+    }
+
+    @Test
+    void accept_WriterFailed_FailsFast() throws Exception {
+        try (WarcPageSink sink = new WarcPageSink(archiveDir, 1 << 20, 1)) {
+            // No body makes the writer throw
+            sink.accept(new CrawledPage("https://example.com/broken", 200, null, null, StandardCharsets.UTF_8, 0));
+
+            assertThrows(IllegalStateException.class, () -> {
+                for (int i = 0; i < 100; i++) {
+                    sink.accept(page("https://example.com/" + i, "x"));
+                    Thread.sleep(10);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.sedna.crawler.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CharsetDetectorTest {
+
+    private static byte[] ascii(String html) {
+        return html.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    void detect_NoDeclaration_DefaultsToUtf8() {
+        assertEquals(StandardCharsets.UTF_8, CharsetDetector.detect(null, ascii("<html><body>x</body></html>")));
+        assertEquals(StandardCharsets.UTF_8, CharsetDetector.detect("text/html", new byte[0]));
+    }
+
+    @Test
+    void detect_ContentTypeHeader() {
+        assertEquals(StandardCharsets.ISO_8859_1,
+                CharsetDetector.detect("text/html; charset=\"ISO-8859-1\"", ascii("<html></html>")));
+    }
+
+    @Test
+    void detect_MetaCharset() {
+        assertEquals(Charset.forName("windows-1252"),
+                CharsetDetector.detect("text/html", ascii("<html><head><meta charset=windows-1252></head>")));
+        assertEquals(Charset.forName("Shift_JIS"), CharsetDetector.detect(null, ascii(
+                "<meta http-equiv=\"Content-Type\" content=\"text/html; charset=Shift_JIS\">")));
+    }
+
+    @Test
+    void detect_Precedence_BomThenHeaderThenMeta() {
+        byte[] metaLatin1 = ascii("<meta charset=\"iso-8859-1\">");
+        assertEquals(StandardCharsets.UTF_16LE, CharsetDetector.detect("text/html; charset=utf-8",
+                new byte[]{(byte) 0xff, (byte) 0xfe, '<', 0}));
+        assertEquals(StandardCharsets.UTF_8, CharsetDetector.detect("text/html; charset=utf-8", metaLatin1));
+        assertEquals(StandardCharsets.ISO_8859_1, CharsetDetector.detect("text/html", metaLatin1));
+    }
+
+    @Test
+    void detect_MetaBeyondPrescanWindow_Ignored() {
+        String html = "<!--" + "x".repeat(2000) + "--><meta charset=iso-8859-1>";
+        assertEquals(StandardCharsets.UTF_8, CharsetDetector.detect(null, ascii(html)));
+    }
+
+    @Test
+    void detect_UnknownOrUtf16Meta_FallsBackToUtf8() {
+        assertEquals(StandardCharsets.UTF_8, CharsetDetector.detect("text/html; charset=bogus-8", ascii("<p>")));
+        assertEquals(StandardCharsets.UTF_8, CharsetDetector.detect(null, ascii("<meta charset=utf-16>")));
+    }
+
+    @Test
+    void isAsciiCompatible() {
+        assertTrue(CharsetDetector.isAsciiCompatible(StandardCharsets.UTF_8));
+        assertTrue(CharsetDetector.isAsciiCompatible(Charset.forName("windows-1252")));
+        assertFalse(CharsetDetector.isAsciiCompatible(StandardCharsets.UTF_16LE));
+        assertFalse(CharsetDetector.isAsciiCompatible(Charset.forName("ISO-2022-JP")));
+    }
+}
@@ -31,6 +31,18 @@ class HttpUtilsTest {
         assertFalse(HttpUtils.isSuccess(statusCode));
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {400, 404, 410, 429, 500, 503})
+    void isError_ReturnsTrue_ForClientAndServerErrors(int statusCode) {
+        assertTrue(HttpUtils.isError(statusCode));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {200, 204, 301, 302, 304, 307, 308})
+    void isError_ReturnsFalse_ForRedirectsAndSuccess(int statusCode) {
+        assertFalse(HttpUtils.isError(statusCode));
+    }
+
     @Test
     void shouldIgnoreSilently_HandlesEdgeCases() {
         // Test boundary values
@@ -0,0 +1,39 @@
+package com.sedna.crawler.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentileMillis_EmptyHistogram_ReturnsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.percentileMillis(99));
+    }
+
+    @Test
+    void percentileMillis_IsWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int ms = 1; ms <= 1000; ms++) {
+            histogram.recordNanos(ms * 1_000_000L);
+        }
+
+        assertEquals(1000, histogram.count());
+        assertEquals(500, histogram.percentileMillis(50), 500 * 0.07);
+        assertEquals(990, histogram.percentileMillis(99), 990 * 0.07);
+        assertEquals(1000, histogram.percentileMillis(100), 1000 * 0.07);
+        assertEquals(500.5, histogram.meanMillis(), 0.01);
+    }
+
+    @Test
+    void recordNanos_NegativeValues_CountAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(-5);
+
+        assertEquals(1, histogram.count());
+        assertEquals(0, histogram.percentileMillis(50));
+    }
+}
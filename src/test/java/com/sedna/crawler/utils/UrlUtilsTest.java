@@ -70,6 +70,13 @@ class UrlUtilsTest {
                 () -> UrlUtils.extractDomain("file:///path/to/file"));
     }
 
+    @Test
+    void extractOrigin_KeepsSchemeHostAndPort() throws URISyntaxException {
+        assertEquals("https://example.com", UrlUtils.extractOrigin("https://Example.com/a/b?c=d"));
+        assertEquals("http://example.com:8080", UrlUtils.extractOrigin("http://example.com:8080/path"));
+        assertThrows(URISyntaxException.class, () -> UrlUtils.extractOrigin("relative/path"));
+    }
+
     @Test
     void normalizeUrl_RemovesTrailingSlash() {
         // Should remove trailing slash from paths